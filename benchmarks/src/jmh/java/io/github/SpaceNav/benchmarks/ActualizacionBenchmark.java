@@ -0,0 +1,74 @@
+package io.github.SpaceNav.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.SpaceNav.AlmacenBalas;
+import io.github.SpaceNav.AlmacenEnemigos;
+import io.github.SpaceNav.Simulacion;
+import io.github.SpaceNav.SistemaActualizacion;
+
+/**
+ * Mide los ciclos de actualización por tick de {@link SistemaActualizacion}
+ * sobre todos los enemigos, incluida la separación entre vecinas, y todas las
+ * balas, sin colisiones. Los enemigos se miden con el camino secuencial y
+ * con el paralelo.
+ * El escenario se reconstruye en cada iteración para que las naves no
+ * terminen amontonadas sobre el jugador.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActualizacionBenchmark {
+
+    /** Cantidad de enemigos y de balas. */
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int cantidad;
+
+    private Simulacion sim;
+    private AlmacenEnemigos enemigos;
+    private AlmacenBalas balas;
+    private final SistemaActualizacion sistema = new SistemaActualizacion();
+    private final SistemaActualizacion sistemaParalelo = new SistemaActualizacion();
+
+    @Setup(Level.Iteration)
+    public void preparar() {
+        sim = EscenarioBenchmark.crear(cantidad, s -> 0, true);
+        EscenarioBenchmark.agregarBalas(sim, cantidad, 3);
+        enemigos = sim.getEnemigos();
+        balas = sim.getBalas();
+        sistema.setParalelo(false);
+        sistemaParalelo.setParalelo(true);
+    }
+
+    @Benchmark
+    public void actualizarEnemigos() {
+        sistema.actualizarEnemigos(enemigos, sim.getNave());
+    }
+
+    /** Igual que {@link #actualizarEnemigos()}, repartido entre hilos a partir de {@link SistemaActualizacion#UMBRAL_PARALELO}. */
+    @Benchmark
+    public void actualizarEnemigosParalelo() {
+        sistemaParalelo.actualizarEnemigos(enemigos, sim.getNave());
+    }
+
+    @Benchmark
+    public void actualizarBalas() {
+        sistema.actualizarBalas(balas);
+    }
+}
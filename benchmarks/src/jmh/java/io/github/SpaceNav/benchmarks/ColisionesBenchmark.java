@@ -0,0 +1,69 @@
+package io.github.SpaceNav.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.SpaceNav.FaseAmplia;
+import io.github.SpaceNav.GestorColisiones;
+import io.github.SpaceNav.Simulacion;
+
+/**
+ * Mide {@link GestorColisiones#manejarColisiones} con cada {@link FaseAmplia}
+ * (la grilla con y sin detección paralela, el barrido en X y el árbol de
+ * cuadrantes) y con la comparación por fuerza bruta, sobre una distribución
+ * repartida y otra agrupada. Comparar los resultados de cada distribución
+ * indica qué fase amplia conviene en cada caso.
+ * <p>
+ * Las balas se ubican fuera de la zona de enemigos, así que ninguna toca a
+ * un enemigo, el escenario es el mismo en cada invocación y se mide
+ * únicamente el costo de detección.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColisionesBenchmark {
+
+    /** Cantidad de enemigos y de balas. */
+    @Param({"10", "100", "1000", "10000"})
+    public int cantidad;
+
+    /** Algoritmo de fase amplia. */
+    @Param({"grilla", "grillaParalela", "barrido", "arbol", "fuerzaBruta"})
+    public String faseAmplia;
+
+    /** Distribución de las entidades; ver {@link EscenarioBenchmark}. */
+    @Param({"repartido", "agrupado"})
+    public String escenario;
+
+    private Simulacion sim;
+    private GestorColisiones gestor;
+
+    @Setup
+    public void preparar() {
+        boolean agrupado = "agrupado".equals(escenario);
+        sim = EscenarioBenchmark.crear(cantidad, s -> 0, true, agrupado);
+        EscenarioBenchmark.agregarBalas(sim, cantidad, 0, agrupado);
+        EscenarioBenchmark.elegirFaseAmplia(sim, faseAmplia);
+        gestor = sim.getGestorColisiones();
+    }
+
+    @Benchmark
+    public void manejarColisiones() {
+        gestor.manejarColisiones(sim.getNave(), sim.getEnemigos(), sim.getBalas(), sim.getPowerUps(), sim);
+    }
+}
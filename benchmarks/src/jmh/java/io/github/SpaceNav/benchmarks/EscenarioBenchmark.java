@@ -0,0 +1,152 @@
+package io.github.SpaceNav.benchmarks;
+
+import java.util.Random;
+
+import io.github.SpaceNav.AlmacenBalas;
+import io.github.SpaceNav.AlmacenEnemigos;
+import io.github.SpaceNav.FaseAmplia;
+import io.github.SpaceNav.FuenteEntrada;
+import io.github.SpaceNav.GestorColisiones;
+import io.github.SpaceNav.NaveJugador;
+import io.github.SpaceNav.OyenteSimulacion;
+import io.github.SpaceNav.PantallaJuego;
+import io.github.SpaceNav.Simulacion;
+
+/**
+ * Construye simulaciones pobladas de forma reproducible para los benchmarks.
+ * <p>
+ * Hay dos distribuciones: repartida, con enemigos y balas uniformes en sus zonas,
+ * y agrupada, con los enemigos apiñados alrededor de un punto (como cuando
+ * convergen sobre el jugador) y las balas a lo largo de una línea horizontal.
+ * </p>
+ */
+final class EscenarioBenchmark {
+
+    /** Semilla fija para que todas las ejecuciones midan la misma distribución. */
+    static final long SEMILLA = 42L;
+
+    /** Límite izquierdo de la zona de enemigos; las balas quedan siempre a su izquierda. */
+    private static final float INICIO_ENEMIGOS = 300;
+
+    // Centro y dispersión del grupo de enemigos en la distribución agrupada; el
+    // centro queda en el medio de la zona de enemigos para que el grupo sea una
+    // campana en ambos ejes y casi ningún enemigo quede apilado contra un borde
+    private static final float CENTRO_GRUPO_X =
+            (INICIO_ENEMIGOS + PantallaJuego.WORLD_WIDTH - AlmacenEnemigos.TAMANO) / 2;
+    private static final float CENTRO_GRUPO_Y = (PantallaJuego.WORLD_HEIGHT - AlmacenEnemigos.TAMANO) / 2;
+    private static final float DESVIO_GRUPO = 100;
+    /** Alto de la franja horizontal donde se ubican las balas en la distribución agrupada. */
+    private static final float ALTO_LINEA_BALAS = 20;
+
+    /** Oyente sin sonido. */
+    static final OyenteSimulacion SILENCIO = new OyenteSimulacion() { };
+
+    private EscenarioBenchmark() {
+    }
+
+    /**
+     * Crea una simulación sin spawn gradual, con la cantidad indicada de enemigos
+     * repartidos al azar en la mitad derecha del mundo.
+     *
+     * @param enemigos cantidad de naves enemigas
+     * @param entrada teclas del jugador
+     * @param usarFaseAmplia true para la fase amplia por defecto, false para la fuerza bruta
+     * @return la simulación poblada
+     */
+    static Simulacion crear(int enemigos, FuenteEntrada entrada, boolean usarFaseAmplia) {
+        return crear(enemigos, entrada, usarFaseAmplia, false);
+    }
+
+    /**
+     * Crea una simulación sin spawn gradual con la cantidad indicada de enemigos.
+     *
+     * @param enemigos cantidad de naves enemigas
+     * @param entrada teclas del jugador
+     * @param usarFaseAmplia true para la fase amplia por defecto, false para la fuerza bruta
+     * @param agrupados true para apiñar a los enemigos alrededor de un punto,
+     *                  false para repartirlos en la mitad derecha del mundo
+     * @return la simulación poblada
+     */
+    static Simulacion crear(int enemigos, FuenteEntrada entrada, boolean usarFaseAmplia, boolean agrupados) {
+        Simulacion sim = new Simulacion(1, 3, 0, 0, entrada, SILENCIO);
+        sim.getGestorColisiones().setUsarFaseAmplia(usarFaseAmplia);
+        Random random = new Random(SEMILLA);
+        float maxX = PantallaJuego.WORLD_WIDTH - AlmacenEnemigos.TAMANO;
+        float maxY = PantallaJuego.WORLD_HEIGHT - AlmacenEnemigos.TAMANO;
+        for (int i = 0; i < enemigos; i++) {
+            if (agrupados) {
+                sim.getEnemigos().agregar(
+                        limitar(CENTRO_GRUPO_X + (float)random.nextGaussian() * DESVIO_GRUPO, INICIO_ENEMIGOS, maxX),
+                        limitar(CENTRO_GRUPO_Y + (float)random.nextGaussian() * DESVIO_GRUPO, 0, maxY),
+                        1);
+            } else {
+                sim.getEnemigos().agregar(
+                        INICIO_ENEMIGOS + random.nextFloat() * (maxX - INICIO_ENEMIGOS),
+                        random.nextFloat() * maxY,
+                        1);
+            }
+        }
+        return sim;
+    }
+
+    /**
+     * Elige el algoritmo de colisiones de una simulación por nombre.
+     *
+     * @param sim simulación a configurar
+     * @param faseAmplia "grilla", "grillaParalela", "barrido", "arbol" o "fuerzaBruta";
+     *                   solo "grillaParalela" reparte la detección entre hilos
+     */
+    static void elegirFaseAmplia(Simulacion sim, String faseAmplia) {
+        GestorColisiones gestor = sim.getGestorColisiones();
+        gestor.setUsarFaseAmplia(!"fuerzaBruta".equals(faseAmplia));
+        gestor.setParalelo("grillaParalela".equals(faseAmplia));
+        switch (faseAmplia) {
+            case "barrido":
+                gestor.setFaseAmplia(FaseAmplia.Tipo.BARRIDO.crear());
+                break;
+            case "arbol":
+                gestor.setFaseAmplia(FaseAmplia.Tipo.ARBOL.crear());
+                break;
+            default:
+                gestor.setFaseAmplia(FaseAmplia.Tipo.GRILLA.crear());
+        }
+    }
+
+    private static float limitar(float valor, float minimo, float maximo) {
+        return Math.max(minimo, Math.min(maximo, valor));
+    }
+
+    /**
+     * Agrega balas entre la nave del jugador y la zona de enemigos, de modo que
+     * recorran toda la fase amplia sin destruir a nadie y el escenario no cambie
+     * entre invocaciones.
+     *
+     * @param sim simulación a poblar
+     * @param balas cantidad de balas
+     * @param velocidad velocidad horizontal de las balas
+     */
+    static void agregarBalas(Simulacion sim, int balas, int velocidad) {
+        agregarBalas(sim, balas, velocidad, false);
+    }
+
+    /**
+     * Agrega balas entre la nave del jugador y la zona de enemigos.
+     *
+     * @param sim simulación a poblar
+     * @param balas cantidad de balas
+     * @param velocidad velocidad horizontal de las balas
+     * @param enLinea true para ubicarlas en una franja horizontal angosta,
+     *                false para repartirlas en todo el alto del mundo
+     */
+    static void agregarBalas(Simulacion sim, int balas, int velocidad, boolean enLinea) {
+        Random random = new Random(SEMILLA + 1);
+        float inicio = sim.getNave().getX() + NaveJugador.TAMANO + 10;
+        for (int i = 0; i < balas; i++) {
+            float x = inicio + random.nextFloat() * (INICIO_ENEMIGOS - inicio - AlmacenBalas.TAMANO);
+            float y = enLinea
+                    ? CENTRO_GRUPO_Y + (random.nextFloat() - 0.5f) * ALTO_LINEA_BALAS
+                    : random.nextFloat() * (PantallaJuego.WORLD_HEIGHT - AlmacenBalas.TAMANO);
+            sim.getBalas().agregar(x, y, velocidad, 0);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.SpaceNav.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.SpaceNav.Instantanea;
+import io.github.SpaceNav.Simulacion;
+
+/**
+ * Mide cuánto tarda capturar y restaurar una {@link Instantanea} de una ronda
+ * con la cantidad indicada de enemigos y de balas, y una décima parte de power-ups.
+ * El objetivo es que ambas operaciones tomen menos de un milisegundo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstantaneaBenchmark {
+
+    /** Cantidad de enemigos y de balas. */
+    @Param({"10", "100", "1000", "10000"})
+    public int cantidad;
+
+    private Simulacion sim;
+    private Instantanea instantanea;
+
+    @Setup
+    public void preparar() {
+        sim = EscenarioBenchmark.crear(cantidad, s -> 0, true);
+        EscenarioBenchmark.agregarBalas(sim, cantidad, 3);
+        for (int i = 0; i < cantidad / 10; i++) {
+            sim.soltarPowerUp(sim.getEnemigos().getX(i), sim.getEnemigos().getY(i));
+        }
+        instantanea = new Instantanea();
+        instantanea.capturar(sim);
+    }
+
+    @Benchmark
+    public Instantanea capturar() {
+        instantanea.capturar(sim);
+        return instantanea;
+    }
+
+    @Benchmark
+    public Simulacion restaurar() {
+        return instantanea.restaurar(s -> 0, EscenarioBenchmark.SILENCIO);
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.SpaceNav.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.SpaceNav.FuenteEntrada;
+import io.github.SpaceNav.Simulacion;
+
+/**
+ * Mide un segundo de juego completo ({@link Simulacion#TICKS_POR_SEGUNDO} llamadas a
+ * {@link Simulacion#paso()}) con el jugador disparando en cada tick: spawn,
+ * actualización, compactación, colisiones y rondas.
+ * <p>
+ * Como la partida avanza y destruye enemigos, cada medición parte de una
+ * simulación nueva y se usa {@link Mode#SingleShotTime}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SimulacionBenchmark {
+
+    /** Cantidad de enemigos al comenzar. */
+    @Param({"10", "100", "1000", "10000"})
+    public int cantidad;
+
+    /** Algoritmo de fase amplia. */
+    @Param({"grilla", "barrido", "arbol", "fuerzaBruta"})
+    public String faseAmplia;
+
+    private Simulacion sim;
+
+    @Setup(Level.Invocation)
+    public void preparar() {
+        sim = EscenarioBenchmark.crear(cantidad, s -> FuenteEntrada.DISPARO, true);
+        EscenarioBenchmark.elegirFaseAmplia(sim, faseAmplia);
+    }
+
+    @Benchmark
+    public Simulacion unSegundo() {
+        for (int i = 0; i < Simulacion.TICKS_POR_SEGUNDO; i++) {
+            sim.paso();
+        }
+        return sim;
+    }
+}
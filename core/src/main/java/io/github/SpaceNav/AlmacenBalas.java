@@ -0,0 +1,202 @@
+package io.github.SpaceNav;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Almacén de balas organizado como estructura de arreglos, con el mismo
+ * esquema que {@link AlmacenEnemigos}: un arreglo primitivo por atributo y
+ * la bala {@code i} en la posición {@code i} de todos ellos.
+ * <p>
+ * Las balas destruidas (por impacto o por salir del mundo) solo se marcan y
+ * {@link #compactar()} las retira rellenando el hueco con la última.
+ * </p>
+ */
+public class AlmacenBalas {
+
+    /** Tamaño (ancho y alto) de cada bala. */
+    public static final float TAMANO = 20;
+    /** Bytes que ocupa cada bala en una {@link Instantanea}. */
+    static final int BYTES_POR_BALA = 6 * 4;
+
+    // Atributos de cada bala; solo las primeras {@link #cantidad} posiciones son válidas
+    float[] x;
+    float[] y;
+    float[] anteriorX;
+    float[] anteriorY;
+    float[] xVel;
+    float[] yVel;
+    /** Indica, con 1, que la bala debe retirarse en la próxima compactación. */
+    int[] destruida;
+
+    /** Cantidad de balas almacenadas. */
+    private int cantidad;
+
+    /**
+     * Crea un almacén vacío con capacidad inicial por defecto.
+     */
+    public AlmacenBalas() {
+        this(64);
+    }
+
+    /**
+     * Crea un almacén vacío.
+     *
+     * @param capacidad capacidad inicial de los arreglos
+     */
+    public AlmacenBalas(int capacidad) {
+        capacidad = Math.max(1, capacidad);
+        x = new float[capacidad];
+        y = new float[capacidad];
+        anteriorX = new float[capacidad];
+        anteriorY = new float[capacidad];
+        xVel = new float[capacidad];
+        yVel = new float[capacidad];
+        destruida = new int[capacidad];
+    }
+
+    /**
+     * Agrega una bala.
+     *
+     * @param x posición horizontal inicial
+     * @param y posición vertical inicial
+     * @param xVel velocidad horizontal, en unidades por tick
+     * @param yVel velocidad vertical, en unidades por tick
+     * @return índice de la bala agregada
+     */
+    public int agregar(float x, float y, float xVel, float yVel) {
+        if (cantidad == this.x.length) {
+            crecer(cantidad * 2);
+        }
+        int i = cantidad++;
+        this.x[i] = x;
+        this.y[i] = y;
+        anteriorX[i] = x;
+        anteriorY[i] = y;
+        this.xVel[i] = xVel;
+        this.yVel[i] = yVel;
+        destruida[i] = 0;
+        return i;
+    }
+
+    private void crecer(int capacidad) {
+        x = Arrays.copyOf(x, capacidad);
+        y = Arrays.copyOf(y, capacidad);
+        anteriorX = Arrays.copyOf(anteriorX, capacidad);
+        anteriorY = Arrays.copyOf(anteriorY, capacidad);
+        xVel = Arrays.copyOf(xVel, capacidad);
+        yVel = Arrays.copyOf(yVel, capacidad);
+        destruida = Arrays.copyOf(destruida, capacidad);
+    }
+
+    /**
+     * Elimina la bala indicada reemplazándola por la última.
+     *
+     * @param i índice a eliminar
+     */
+    public void eliminar(int i) {
+        if (i >= cantidad) throw new IndexOutOfBoundsException("indice: " + i + ", tamano: " + cantidad);
+        int ultima = --cantidad;
+        x[i] = x[ultima];
+        y[i] = y[ultima];
+        anteriorX[i] = anteriorX[ultima];
+        anteriorY[i] = anteriorY[ultima];
+        xVel[i] = xVel[ultima];
+        yVel[i] = yVel[ultima];
+        destruida[i] = destruida[ultima];
+    }
+
+    /**
+     * Retira de una sola pasada todas las balas destruidas.
+     *
+     * @return cantidad de balas retiradas
+     */
+    public int compactar() {
+        int retiradas = 0;
+        int i = 0;
+        while (i < cantidad) {
+            if (destruida[i] != 0) {
+                eliminar(i); // la última ocupa la posición i y se revisa en la siguiente vuelta
+                retiradas++;
+            } else {
+                i++;
+            }
+        }
+        return retiradas;
+    }
+
+    /**
+     * Escribe la cantidad de balas y, arreglo por arreglo, sus atributos.
+     * Entre ticks no quedan balas destruidas, así que esa marca no se guarda.
+     * @param destino buffer con espacio para {@code 4 + tamano() * BYTES_POR_BALA} bytes
+     */
+    void escribirEstado(ByteBuffer destino) {
+        destino.putInt(cantidad);
+        Instantanea.escribirFloats(destino, x, cantidad);
+        Instantanea.escribirFloats(destino, y, cantidad);
+        Instantanea.escribirFloats(destino, anteriorX, cantidad);
+        Instantanea.escribirFloats(destino, anteriorY, cantidad);
+        Instantanea.escribirFloats(destino, xVel, cantidad);
+        Instantanea.escribirFloats(destino, yVel, cantidad);
+    }
+
+    /**
+     * Reemplaza todas las balas por las escritas con {@link #escribirEstado(ByteBuffer)}.
+     * @param origen buffer posicionado al comienzo de las balas
+     */
+    void leerEstado(ByteBuffer origen) {
+        int leidas = origen.getInt();
+        if (leidas > x.length) {
+            crecer(leidas);
+        }
+        cantidad = leidas;
+        Instantanea.leerFloats(origen, x, cantidad);
+        Instantanea.leerFloats(origen, y, cantidad);
+        Instantanea.leerFloats(origen, anteriorX, cantidad);
+        Instantanea.leerFloats(origen, anteriorY, cantidad);
+        Instantanea.leerFloats(origen, xVel, cantidad);
+        Instantanea.leerFloats(origen, yVel, cantidad);
+        Arrays.fill(destruida, 0, cantidad, 0);
+    }
+
+    /** Retira todas las balas. */
+    public void limpiar() {
+        cantidad = 0;
+    }
+
+    /**
+     * Marca una bala para retirarla.
+     * @param i índice de la bala
+     */
+    public void destruir(int i) {
+        destruida[i] = 1;
+    }
+
+    public boolean estaDestruida(int i) {
+        return destruida[i] != 0;
+    }
+
+    public float getX(int i) {
+        return x[i];
+    }
+
+    public float getY(int i) {
+        return y[i];
+    }
+
+    /**
+     * Obtiene la cantidad de balas almacenadas.
+     * @return el tamaño del almacén
+     */
+    public int tamano() {
+        return cantidad;
+    }
+
+    /**
+     * Indica si no hay balas almacenadas.
+     * @return true si está vacío, false en caso contrario
+     */
+    public boolean estaVacia() {
+        return cantidad == 0;
+    }
+}
@@ -0,0 +1,273 @@
+package io.github.SpaceNav;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Almacén de naves enemigas organizado como estructura de arreglos.
+ * <p>
+ * En lugar de un objeto por nave, cada atributo (posición, velocidad, vidas,
+ * temporizador de herida y banderas) vive en su propio arreglo primitivo y la
+ * nave {@code i} es la posición {@code i} de todos ellos. Los sistemas
+ * ({@link SistemaActualizacion}, {@link GestorColisiones} y {@link SistemaDibujo})
+ * recorren los arreglos de forma secuencial, sin saltar entre objetos del heap.
+ * </p>
+ * <p>
+ * Igual que {@link BolsaEntidades}, las naves destruidas solo se marcan y
+ * {@link #compactar()} las retira al final de cada fase rellenando el hueco
+ * con la última, así que el orden no se conserva.
+ * </p>
+ */
+public class AlmacenEnemigos {
+
+    /** Tamaño (ancho y alto) de cada nave enemiga. */
+    public static final float TAMANO = NaveBase.TAMANO;
+    /** Ticks que una nave permanece herida (e invulnerable) tras recibir daño. */
+    public static final int TICKS_HERIDA = 50;
+    /** Velocidad con la que una nave persigue a su objetivo, en unidades por tick. */
+    public static final float VELOCIDAD = 4;
+    /** Bytes que ocupa cada nave en una {@link Instantanea}. */
+    static final int BYTES_POR_NAVE = 6 * 4 + 3 * 4;
+
+    /** Bandera: la nave recibió daño hace poco y es invulnerable. */
+    static final int HERIDA = 1;
+    /** Bandera: la nave debe retirarse en la próxima compactación. */
+    static final int DESTRUIDA = 2;
+
+    // Atributos de cada nave; solo las primeras {@link #cantidad} posiciones son válidas
+    float[] x;
+    float[] y;
+    float[] anteriorX;
+    float[] anteriorY;
+    float[] xVel;
+    float[] yVel;
+    int[] vidas;
+    int[] tiempoHerido;
+    int[] banderas;
+
+    /** Cantidad de naves almacenadas. */
+    private int cantidad;
+
+    /**
+     * Crea un almacén vacío con capacidad inicial por defecto.
+     */
+    public AlmacenEnemigos() {
+        this(64);
+    }
+
+    /**
+     * Crea un almacén vacío.
+     *
+     * @param capacidad capacidad inicial de los arreglos
+     */
+    public AlmacenEnemigos(int capacidad) {
+        capacidad = Math.max(1, capacidad);
+        x = new float[capacidad];
+        y = new float[capacidad];
+        anteriorX = new float[capacidad];
+        anteriorY = new float[capacidad];
+        xVel = new float[capacidad];
+        yVel = new float[capacidad];
+        vidas = new int[capacidad];
+        tiempoHerido = new int[capacidad];
+        banderas = new int[capacidad];
+    }
+
+    /**
+     * Agrega una nave quieta, sana y sin banderas.
+     *
+     * @param x posición horizontal inicial
+     * @param y posición vertical inicial
+     * @param vidas cantidad de vidas iniciales
+     * @return índice de la nave agregada
+     */
+    public int agregar(float x, float y, int vidas) {
+        if (cantidad == this.x.length) {
+            crecer(cantidad * 2);
+        }
+        int i = cantidad++;
+        this.x[i] = x;
+        this.y[i] = y;
+        anteriorX[i] = x;
+        anteriorY[i] = y;
+        xVel[i] = 0;
+        yVel[i] = 0;
+        this.vidas[i] = vidas;
+        tiempoHerido[i] = 0;
+        banderas[i] = 0;
+        return i;
+    }
+
+    /**
+     * Asegura lugar para agregar varias naves sin que el almacén crezca en el medio.
+     * @param cantidad naves que se van a agregar
+     */
+    public void reservar(int cantidad) {
+        int necesaria = this.cantidad + cantidad;
+        if (necesaria > x.length) {
+            crecer(Math.max(necesaria, x.length * 2));
+        }
+    }
+
+    private void crecer(int capacidad) {
+        x = Arrays.copyOf(x, capacidad);
+        y = Arrays.copyOf(y, capacidad);
+        anteriorX = Arrays.copyOf(anteriorX, capacidad);
+        anteriorY = Arrays.copyOf(anteriorY, capacidad);
+        xVel = Arrays.copyOf(xVel, capacidad);
+        yVel = Arrays.copyOf(yVel, capacidad);
+        vidas = Arrays.copyOf(vidas, capacidad);
+        tiempoHerido = Arrays.copyOf(tiempoHerido, capacidad);
+        banderas = Arrays.copyOf(banderas, capacidad);
+    }
+
+    /**
+     * Elimina la nave indicada reemplazándola por la última.
+     *
+     * @param i índice a eliminar
+     */
+    public void eliminar(int i) {
+        if (i >= cantidad) throw new IndexOutOfBoundsException("indice: " + i + ", tamano: " + cantidad);
+        int ultima = --cantidad;
+        x[i] = x[ultima];
+        y[i] = y[ultima];
+        anteriorX[i] = anteriorX[ultima];
+        anteriorY[i] = anteriorY[ultima];
+        xVel[i] = xVel[ultima];
+        yVel[i] = yVel[ultima];
+        vidas[i] = vidas[ultima];
+        tiempoHerido[i] = tiempoHerido[ultima];
+        banderas[i] = banderas[ultima];
+    }
+
+    /**
+     * Retira de una sola pasada todas las naves destruidas.
+     *
+     * @return cantidad de naves retiradas
+     */
+    public int compactar() {
+        int retiradas = 0;
+        int i = 0;
+        while (i < cantidad) {
+            if ((banderas[i] & DESTRUIDA) != 0) {
+                eliminar(i); // la última ocupa la posición i y se revisa en la siguiente vuelta
+                retiradas++;
+            } else {
+                i++;
+            }
+        }
+        return retiradas;
+    }
+
+    /**
+     * Escribe la cantidad de naves y, arreglo por arreglo, sus atributos.
+     * @param destino buffer con espacio para {@code 4 + tamano() * BYTES_POR_NAVE} bytes
+     */
+    void escribirEstado(ByteBuffer destino) {
+        destino.putInt(cantidad);
+        Instantanea.escribirFloats(destino, x, cantidad);
+        Instantanea.escribirFloats(destino, y, cantidad);
+        Instantanea.escribirFloats(destino, anteriorX, cantidad);
+        Instantanea.escribirFloats(destino, anteriorY, cantidad);
+        Instantanea.escribirFloats(destino, xVel, cantidad);
+        Instantanea.escribirFloats(destino, yVel, cantidad);
+        Instantanea.escribirInts(destino, vidas, cantidad);
+        Instantanea.escribirInts(destino, tiempoHerido, cantidad);
+        Instantanea.escribirInts(destino, banderas, cantidad);
+    }
+
+    /**
+     * Reemplaza todas las naves por las escritas con {@link #escribirEstado(ByteBuffer)}.
+     * @param origen buffer posicionado al comienzo de las naves
+     */
+    void leerEstado(ByteBuffer origen) {
+        int leidas = origen.getInt();
+        if (leidas > x.length) {
+            crecer(leidas);
+        }
+        cantidad = leidas;
+        Instantanea.leerFloats(origen, x, cantidad);
+        Instantanea.leerFloats(origen, y, cantidad);
+        Instantanea.leerFloats(origen, anteriorX, cantidad);
+        Instantanea.leerFloats(origen, anteriorY, cantidad);
+        Instantanea.leerFloats(origen, xVel, cantidad);
+        Instantanea.leerFloats(origen, yVel, cantidad);
+        Instantanea.leerInts(origen, vidas, cantidad);
+        Instantanea.leerInts(origen, tiempoHerido, cantidad);
+        Instantanea.leerInts(origen, banderas, cantidad);
+    }
+
+    /** Retira todas las naves. */
+    public void limpiar() {
+        cantidad = 0;
+    }
+
+    /**
+     * Aplica daño a una nave si no está herida; la deja herida durante
+     * {@link #TICKS_HERIDA} ticks y la marca como destruida si se queda sin vidas.
+     *
+     * @param i índice de la nave
+     * @param dano cantidad de daño
+     */
+    public void recibirDano(int i, int dano) {
+        if ((banderas[i] & HERIDA) != 0) return;
+        vidas[i] -= dano;
+        banderas[i] |= HERIDA;
+        tiempoHerido[i] = TICKS_HERIDA;
+        if (vidas[i] <= 0) {
+            banderas[i] |= DESTRUIDA;
+        }
+    }
+
+    /**
+     * Marca una nave como destruida sin aplicar daño.
+     * @param i índice de la nave
+     */
+    public void destruir(int i) {
+        banderas[i] |= DESTRUIDA;
+    }
+
+    public boolean estaDestruida(int i) {
+        return (banderas[i] & DESTRUIDA) != 0;
+    }
+
+    public boolean estaHerida(int i) {
+        return (banderas[i] & HERIDA) != 0;
+    }
+
+    public float getX(int i) {
+        return x[i];
+    }
+
+    public float getY(int i) {
+        return y[i];
+    }
+
+    public float getXVel(int i) {
+        return xVel[i];
+    }
+
+    public float getYVel(int i) {
+        return yVel[i];
+    }
+
+    public int getVidas(int i) {
+        return vidas[i];
+    }
+
+    /**
+     * Obtiene la cantidad de naves almacenadas.
+     * @return el tamaño del almacén
+     */
+    public int tamano() {
+        return cantidad;
+    }
+
+    /**
+     * Indica si no hay naves almacenadas.
+     * @return true si está vacío, false en caso contrario
+     */
+    public boolean estaVacia() {
+        return cantidad == 0;
+    }
+}
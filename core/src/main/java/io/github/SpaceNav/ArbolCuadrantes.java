@@ -0,0 +1,206 @@
+package io.github.SpaceNav;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * {@link FaseAmplia} basada en un árbol de cuadrantes holgado (loose quadtree).
+ * <p>
+ * Cada entidad pertenece al cuadrante que contiene su centro, y cada nodo se
+ * considera ampliado en medio tamaño de entidad hacia todos los lados, así
+ * que una entidad cabe entera en el área holgada de su nodo sin importar
+ * dónde caiga su centro y nunca hace falta guardarla en más de un nodo.
+ * </p>
+ * <p>
+ * El árbol se arma de nuevo en cada tick, partiendo los índices en su lugar:
+ * un nodo con más de {@link #CAPACIDAD_HOJA} entidades se divide en cuatro
+ * mientras sus cuadrantes no queden más chicos que una entidad; debajo de ese
+ * tamaño el margen holgado domina y dividir ya no descarta candidatos. Donde las entidades se agrupan el
+ * árbol se hace más profundo y donde no hay ninguna no hay nodos, así que se
+ * adapta a grupos apretados mejor que una grilla de celdas fijas. La raíz
+ * cubre las entidades que existan, aunque estén fuera del mundo.
+ * </p>
+ * <p>
+ * Los nodos se guardan en arreglos paralelos que se reutilizan entre ticks.
+ * </p>
+ */
+public class ArbolCuadrantes implements FaseAmplia {
+
+    /** Cantidad de entidades a partir de la cual un nodo se divide. */
+    public static final int CAPACIDAD_HOJA = 8;
+
+    // Índices de las entidades, agrupados de modo que cada nodo ocupa un rango contiguo
+    private int[] orden = new int[64];
+    // Centros de las entidades del almacén, por índice
+    private float[] centroX = new float[64];
+    private float[] centroY = new float[64];
+
+    // Nodos: área holgada, rango de entidades en orden y primer hijo (-1 en las hojas)
+    private float[] nodoX0 = new float[64];
+    private float[] nodoY0 = new float[64];
+    private float[] nodoX1 = new float[64];
+    private float[] nodoY1 = new float[64];
+    private int[] nodoDesde = new int[64];
+    private int[] nodoHasta = new int[64];
+    private int[] nodoHijo = new int[64];
+    private int nodos;
+
+    private float[] x;
+    private float[] y;
+    private float tamano;
+
+    /**
+     * Arma el árbol con todas las entidades de un almacén.
+     *
+     * @param x posiciones horizontales de las entidades
+     * @param y posiciones verticales de las entidades
+     * @param tamano ancho y alto de cada entidad
+     * @param cantidad cantidad de entidades válidas en los arreglos; se guarda su índice
+     */
+    @Override
+    public void reconstruir(float[] x, float[] y, float tamano, int cantidad) {
+        this.x = x;
+        this.y = y;
+        this.tamano = tamano;
+        nodos = 0;
+        if (cantidad == 0) return;
+
+        if (orden.length < cantidad) {
+            int capacidad = Math.max(cantidad, orden.length * 2);
+            orden = new int[capacidad];
+            centroX = new float[capacidad];
+            centroY = new float[capacidad];
+        }
+        float mitad = tamano / 2;
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < cantidad; i++) {
+            orden[i] = i;
+            float cx = x[i] + mitad, cy = y[i] + mitad;
+            centroX[i] = cx;
+            centroY[i] = cy;
+            minX = Math.min(minX, cx);
+            minY = Math.min(minY, cy);
+            maxX = Math.max(maxX, cx);
+            maxY = Math.max(maxY, cy);
+        }
+        // La raíz es cuadrada para que los cuadrantes también lo sean
+        float lado = Math.max(Math.max(maxX - minX, maxY - minY), tamano);
+        armar(nuevoNodo(), minX, minY, lado, 0, cantidad);
+    }
+
+    /**
+     * Completa un nodo con el rango {@code [desde, hasta)} de {@link #orden} y, si
+     * tiene demasiadas entidades, lo divide en cuatro cuadrantes por sus centros.
+     */
+    private void armar(int nodo, float x0, float y0, float lado, int desde, int hasta) {
+        float mitad = tamano / 2;
+        nodoX0[nodo] = x0 - mitad;
+        nodoY0[nodo] = y0 - mitad;
+        nodoX1[nodo] = x0 + lado + mitad;
+        nodoY1[nodo] = y0 + lado + mitad;
+        nodoDesde[nodo] = desde;
+        nodoHasta[nodo] = hasta;
+        nodoHijo[nodo] = -1;
+        float medio = lado / 2;
+        if (hasta - desde <= CAPACIDAD_HOJA || medio < tamano) return;
+
+        float medioX = x0 + medio, medioY = y0 + medio;
+        int izquierda = partir(centroX, medioX, desde, hasta);
+        int abajoIzquierda = partir(centroY, medioY, desde, izquierda);
+        int abajoDerecha = partir(centroY, medioY, izquierda, hasta);
+
+        // Los cuatro hijos quedan contiguos; se reservan antes de armar sus subárboles
+        int hijo = nuevoNodo();
+        nuevoNodo();
+        nuevoNodo();
+        nuevoNodo();
+        nodoHijo[nodo] = hijo;
+        armar(hijo, x0, y0, medio, desde, abajoIzquierda);
+        armar(hijo + 1, x0, medioY, medio, abajoIzquierda, izquierda);
+        armar(hijo + 2, medioX, y0, medio, izquierda, abajoDerecha);
+        armar(hijo + 3, medioX, medioY, medio, abajoDerecha, hasta);
+    }
+
+    /**
+     * Reordena {@code orden[desde, hasta)} para que primero queden las entidades
+     * con la coordenada menor al corte.
+     *
+     * @return posición donde empiezan las entidades con la coordenada mayor o igual al corte
+     */
+    private int partir(float[] coordenada, float corte, int desde, int hasta) {
+        int i = desde, j = hasta - 1;
+        while (i <= j) {
+            if (coordenada[orden[i]] < corte) {
+                i++;
+            } else {
+                int t = orden[i];
+                orden[i] = orden[j];
+                orden[j--] = t;
+            }
+        }
+        return i;
+    }
+
+    private int nuevoNodo() {
+        if (nodos == nodoHijo.length) {
+            int capacidad = nodos * 2;
+            nodoX0 = Arrays.copyOf(nodoX0, capacidad);
+            nodoY0 = Arrays.copyOf(nodoY0, capacidad);
+            nodoX1 = Arrays.copyOf(nodoX1, capacidad);
+            nodoY1 = Arrays.copyOf(nodoY1, capacidad);
+            nodoDesde = Arrays.copyOf(nodoDesde, capacidad);
+            nodoHasta = Arrays.copyOf(nodoHasta, capacidad);
+            nodoHijo = Arrays.copyOf(nodoHijo, capacidad);
+        }
+        return nodos++;
+    }
+
+    /**
+     * Obtiene los índices de las entidades cuyo rectángulo toca el área dada,
+     * ordenados de menor a mayor.
+     *
+     * @param x posición horizontal del área
+     * @param y posición vertical del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     * @param resultado arreglo donde se dejan los índices; se vacía antes de usarse
+     */
+    @Override
+    public void consultar(float x, float y, float ancho, float alto, IntArray resultado) {
+        resultado.clear();
+        if (nodos == 0) return;
+        consultar(0, x, y, x + ancho, y + alto, resultado);
+        if (resultado.size > 1) {
+            resultado.sort(); // el árbol agrupa por posición, no por índice
+        }
+    }
+
+    /** Recorre el subárbol de un nodo; la recursión no crea objetos y permite consultas simultáneas. */
+    private void consultar(int nodo, float x0, float y0, float x1, float y1, IntArray resultado) {
+        if (nodoX0[nodo] > x1 || nodoX1[nodo] < x0 || nodoY0[nodo] > y1 || nodoY1[nodo] < y0) return;
+
+        int hijo = nodoHijo[nodo];
+        if (hijo >= 0) {
+            for (int h = hijo; h < hijo + 4; h++) {
+                consultar(h, x0, y0, x1, y1, resultado);
+            }
+            return;
+        }
+        for (int k = nodoDesde[nodo]; k < nodoHasta[nodo]; k++) {
+            int i = orden[k];
+            if (x[i] <= x1 && x[i] + tamano >= x0 && y[i] <= y1 && y[i] + tamano >= y0) {
+                resultado.add(i);
+            }
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de nodos del último árbol armado.
+     * @return nodos, contando la raíz
+     */
+    public int getCantidadNodos() {
+        return nodos;
+    }
+}
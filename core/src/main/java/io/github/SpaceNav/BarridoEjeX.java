@@ -0,0 +1,116 @@
+package io.github.SpaceNav;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * {@link FaseAmplia} de barrido y poda (sort and sweep) sobre el eje X.
+ * <p>
+ * En cada tick ordena las entidades por su borde izquierdo. Una consulta busca
+ * por bisección la primera entidad cuyo intervalo en X puede tocar el área y
+ * recorre las siguientes hasta pasar el borde derecho del área, descartando
+ * por el camino las que no tocan el área en Y.
+ * </p>
+ * <p>
+ * No depende del tamaño del mundo ni de un tamaño de celda: el costo de una
+ * consulta es el logaritmo de la cantidad de entidades más las que caen en su
+ * franja vertical. Rinde mejor cuando las entidades se reparten a lo largo del
+ * eje horizontal y peor cuando se apilan en la misma columna.
+ * </p>
+ */
+public class BarridoEjeX implements FaseAmplia {
+
+    /** Claves de ordenamiento: la X convertida en entero ordenable en los 32 bits altos y el índice en los bajos. */
+    private long[] claves = new long[64];
+
+    // Entidades ordenadas por X: posición, posición vertical e índice en el almacén
+    private float[] xOrdenadas = new float[64];
+    private float[] yOrdenadas = new float[64];
+    private int[] indices = new int[64];
+
+    private int cantidad;
+    private float tamano;
+
+    /**
+     * Ordena todas las entidades de un almacén por su posición horizontal.
+     *
+     * @param x posiciones horizontales de las entidades
+     * @param y posiciones verticales de las entidades
+     * @param tamano ancho y alto de cada entidad
+     * @param cantidad cantidad de entidades válidas en los arreglos; se guarda su índice
+     */
+    @Override
+    public void reconstruir(float[] x, float[] y, float tamano, int cantidad) {
+        if (claves.length < cantidad) {
+            int capacidad = Math.max(cantidad, claves.length * 2);
+            claves = new long[capacidad];
+            xOrdenadas = new float[capacidad];
+            yOrdenadas = new float[capacidad];
+            indices = new int[capacidad];
+        }
+        this.cantidad = cantidad;
+        this.tamano = tamano;
+
+        // Ordenar claves primitivas evita comparadores y objetos; a igual X decide el índice
+        for (int i = 0; i < cantidad; i++) {
+            claves[i] = ((long)ordenable(x[i]) << 32) | i;
+        }
+        Arrays.sort(claves, 0, cantidad);
+        for (int k = 0; k < cantidad; k++) {
+            int i = (int)claves[k];
+            indices[k] = i;
+            xOrdenadas[k] = x[i];
+            yOrdenadas[k] = y[i];
+        }
+    }
+
+    /**
+     * Obtiene los índices de las entidades cuyo rectángulo toca el área dada,
+     * ordenados de menor a mayor.
+     *
+     * @param x posición horizontal del área
+     * @param y posición vertical del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     * @param resultado arreglo donde se dejan los índices; se vacía antes de usarse
+     */
+    @Override
+    public void consultar(float x, float y, float ancho, float alto, IntArray resultado) {
+        resultado.clear();
+        float derecha = x + ancho;
+        float arriba = y + alto;
+        for (int k = primeraDesde(x - tamano); k < cantidad && xOrdenadas[k] <= derecha; k++) {
+            float ey = yOrdenadas[k];
+            if (ey <= arriba && ey + tamano >= y) {
+                resultado.add(indices[k]);
+            }
+        }
+        if (resultado.size > 1) {
+            resultado.sort(); // en el almacén el orden es por índice, no por X
+        }
+    }
+
+    /** Busca por bisección la primera entidad ordenada con X mayor o igual al valor dado. */
+    private int primeraDesde(float x) {
+        int desde = 0, hasta = cantidad;
+        while (desde < hasta) {
+            int medio = (desde + hasta) >>> 1;
+            if (xOrdenadas[medio] < x) {
+                desde = medio + 1;
+            } else {
+                hasta = medio;
+            }
+        }
+        return desde;
+    }
+
+    /**
+     * Convierte un float en un entero con el mismo orden, para ordenar con la
+     * comparación de enteros (los negativos invierten sus bits de magnitud).
+     */
+    private static int ordenable(float valor) {
+        int bits = Float.floatToIntBits(valor);
+        return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.SpaceNav;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Contenedor desordenado de entidades del juego.
+ * <p>
+ * A diferencia de {@link java.util.ArrayList#remove(int)}, eliminar un elemento
+ * no desplaza el resto del arreglo: el hueco se rellena con el último elemento,
+ * por lo que cada eliminación cuesta O(1). A cambio, el orden de los elementos
+ * no se conserva.
+ * </p>
+ * <p>
+ * Durante el frame las entidades muertas solo se marcan (por ejemplo, con
+ * {@link NaveBase#estaDestruido()}) y al final se retiran todas juntas con
+ * {@link #compactar(Predicate, Pool)}, así ningún ciclo depende de ajustar
+ * índices mientras recorre la bolsa.
+ * </p>
+ *
+ * @param <T> tipo de entidad almacenada
+ */
+public class BolsaEntidades<T> {
+
+    /** Elementos almacenados; solo las primeras {@link #tamano} posiciones son válidas. */
+    private T[] elementos;
+
+    /** Cantidad de elementos almacenados. */
+    private int tamano;
+
+    /**
+     * Crea una bolsa vacía con capacidad inicial por defecto.
+     */
+    public BolsaEntidades() {
+        this(16);
+    }
+
+    /**
+     * Crea una bolsa vacía.
+     *
+     * @param capacidad capacidad inicial del arreglo interno
+     */
+    @SuppressWarnings("unchecked")
+    public BolsaEntidades(int capacidad) {
+        elementos = (T[]) new Object[Math.max(1, capacidad)];
+    }
+
+    /**
+     * Agrega una entidad al final de la bolsa.
+     *
+     * @param entidad entidad a agregar
+     * @return true, siempre
+     */
+    public boolean agregar(T entidad) {
+        if (tamano == elementos.length) {
+            elementos = Arrays.copyOf(elementos, elementos.length * 2);
+        }
+        elementos[tamano++] = entidad;
+        return true;
+    }
+
+    /**
+     * Obtiene la entidad en la posición indicada.
+     *
+     * @param indice posición, entre 0 y {@link #tamano()} - 1
+     * @return la entidad almacenada
+     */
+    public T obtener(int indice) {
+        if (indice >= tamano) throw new IndexOutOfBoundsException("indice: " + indice + ", tamano: " + tamano);
+        return elementos[indice];
+    }
+
+    /**
+     * Elimina la entidad en la posición indicada reemplazándola por la última.
+     *
+     * @param indice posición a eliminar
+     * @return la entidad eliminada
+     */
+    public T eliminar(int indice) {
+        T eliminada = obtener(indice);
+        tamano--;
+        elementos[indice] = elementos[tamano];
+        elementos[tamano] = null;
+        return eliminada;
+    }
+
+    /**
+     * Retira de una sola pasada todas las entidades que cumplen el criterio,
+     * devolviéndolas al pool indicado. Se llama al final de cada fase del frame.
+     *
+     * @param muerta criterio que indica si una entidad debe retirarse
+     * @param pool pool al que se devuelven las entidades retiradas; puede ser null
+     * @return cantidad de entidades retiradas
+     */
+    public int compactar(Predicate<? super T> muerta, Pool<T> pool) {
+        int retiradas = 0;
+        int i = 0;
+        while (i < tamano) {
+            T entidad = elementos[i];
+            if (muerta.test(entidad)) {
+                eliminar(i); // el último ocupa la posición i y se revisa en la siguiente vuelta
+                if (pool != null) pool.free(entidad);
+                retiradas++;
+            } else {
+                i++;
+            }
+        }
+        return retiradas;
+    }
+
+    /**
+     * Vacía la bolsa, devolviendo todas las entidades al pool indicado.
+     *
+     * @param pool pool al que se devuelven las entidades; puede ser null
+     */
+    public void limpiar(Pool<T> pool) {
+        for (int i = 0; i < tamano; i++) {
+            if (pool != null) pool.free(elementos[i]);
+            elementos[i] = null;
+        }
+        tamano = 0;
+    }
+
+    /**
+     * Obtiene la cantidad de entidades almacenadas.
+     * @return el tamaño de la bolsa
+     */
+    public int tamano() {
+        return tamano;
+    }
+
+    /**
+     * Indica si la bolsa no contiene entidades.
+     * @return true si está vacía, false en caso contrario
+     */
+    public boolean estaVacia() {
+        return tamano == 0;
+    }
+}
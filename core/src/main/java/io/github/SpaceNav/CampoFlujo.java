@@ -0,0 +1,156 @@
+package io.github.SpaceNav;
+
+/**
+ * Campo de flujo sobre el mundo del juego: una grilla que guarda en cada
+ * celda la dirección en que debe avanzar una nave para llegar al objetivo.
+ * <p>
+ * Las naves enemigas leen la dirección de su celda en lugar de calcular cada
+ * una su propio vector hacia el objetivo, así que perseguir cuesta una
+ * consulta por nave sin importar cuántas sean. El campo solo se vuelve a
+ * calcular cuando el objetivo pasa a otra celda: el contenido depende
+ * únicamente de esa celda, por lo que no forma parte del estado de la
+ * simulación y una {@link Instantanea} no necesita guardarlo.
+ * </p>
+ * <p>
+ * El mundo no tiene obstáculos, así que cada celda apunta en línea recta al
+ * centro de la celda del objetivo. Cerca del objetivo esa dirección
+ * aproximada no alcanza para alcanzarlo, de modo que las celdas a
+ * {@link #CELDAS_DIRECTAS} o menos de la suya quedan marcadas como cercanas y
+ * las naves que están en ellas apuntan al objetivo exacto.
+ * </p>
+ * <p>
+ * Sin obstáculos, la dirección de una celda depende solo de su desplazamiento
+ * respecto de la celda del objetivo. Por eso las direcciones de todos los
+ * desplazamientos posibles se calculan una vez al crear el campo, en un
+ * patrón del doble de ancho y de alto que la grilla, y recalcular el campo es
+ * copiar de ese patrón una fila por cada fila de la grilla, sin raíces
+ * cuadradas. El objetivo puede cambiar de celda en casi todos los ticks sin
+ * que eso se note en el tiempo del tick.
+ * </p>
+ * <p>
+ * Las posiciones fuera del mundo se asignan a las celdas del borde. Después
+ * de {@link #actualizar}, varias consultas pueden ejecutarse a la vez desde
+ * distintos hilos.
+ * </p>
+ */
+public class CampoFlujo {
+
+    /** Tamaño (ancho y alto) de cada celda, en unidades del mundo. */
+    public static final float TAMANO_CELDA = 16;
+
+    /** Distancia en celdas, en cada eje, hasta la cual una celda se considera cercana al objetivo. */
+    public static final int CELDAS_DIRECTAS = 3;
+
+    /** Cantidad de columnas de la grilla. */
+    private final int columnas;
+
+    /** Cantidad de filas de la grilla. */
+    private final int filas;
+
+    // Dirección unitaria hacia el objetivo en cada celda, por fila y columna
+    final float[] direccionX;
+    final float[] direccionY;
+
+    /** Indica, para cada celda, si está cerca del objetivo y sus naves deben apuntarle directamente. */
+    final boolean[] cercana;
+
+    // Patrón de direcciones por desplazamiento: la celda (columnas - 1, filas - 1) es la del objetivo
+    private final int anchoPatron;
+    private final float[] patronX;
+    private final float[] patronY;
+    private final boolean[] patronCercana;
+
+    /** Celda del objetivo con la que se calculó el campo, o -1 si todavía no se calculó. */
+    private int celdaObjetivo = -1;
+
+    /** Veces que se calculó el campo. */
+    private int calculos;
+
+    /**
+     * Crea un campo que cubre el mundo del juego, todavía sin calcular.
+     */
+    public CampoFlujo() {
+        columnas = (int) Math.ceil(PantallaJuego.WORLD_WIDTH / TAMANO_CELDA);
+        filas = (int) Math.ceil(PantallaJuego.WORLD_HEIGHT / TAMANO_CELDA);
+        direccionX = new float[columnas * filas];
+        direccionY = new float[columnas * filas];
+        cercana = new boolean[columnas * filas];
+
+        anchoPatron = 2 * columnas - 1;
+        int altoPatron = 2 * filas - 1;
+        patronX = new float[anchoPatron * altoPatron];
+        patronY = new float[anchoPatron * altoPatron];
+        patronCercana = new boolean[anchoPatron * altoPatron];
+        for (int fi = 0; fi < altoPatron; fi++) {
+            int df = filas - 1 - fi;
+            for (int ci = 0; ci < anchoPatron; ci++) {
+                int dc = columnas - 1 - ci;
+                int k = fi * anchoPatron + ci;
+                if (Math.abs(dc) <= CELDAS_DIRECTAS && Math.abs(df) <= CELDAS_DIRECTAS) {
+                    patronCercana[k] = true;
+                    continue;
+                }
+                float distancia = (float)Math.sqrt(dc*dc + df*df);
+                patronX[k] = dc / distancia;
+                patronY[k] = df / distancia;
+            }
+        }
+    }
+
+    /**
+     * Ubica el objetivo y, si cambió de celda desde la última vez, vuelve a
+     * calcular la dirección de todas las celdas. Se llama una vez por tick
+     * antes de consultar.
+     *
+     * @param objetivoX posición horizontal del objetivo
+     * @param objetivoY posición vertical del objetivo
+     * @return true si el campo se volvió a calcular
+     */
+    public boolean actualizar(float objetivoX, float objetivoY) {
+        int c = columna(objetivoX), f = fila(objetivoY);
+        int celda = f * columnas + c;
+        if (celda == celdaObjetivo) return false;
+        celdaObjetivo = celda;
+        calculos++;
+
+        // La fila fi de la grilla es el tramo del patrón que queda debajo al centrarlo en el objetivo
+        int desdeColumna = columnas - 1 - c;
+        for (int fi = 0; fi < filas; fi++) {
+            int desde = (fi - f + filas - 1) * anchoPatron + desdeColumna;
+            int hasta = fi * columnas;
+            System.arraycopy(patronX, desde, direccionX, hasta, columnas);
+            System.arraycopy(patronY, desde, direccionY, hasta, columnas);
+            System.arraycopy(patronCercana, desde, cercana, hasta, columnas);
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene la celda que contiene un punto.
+     *
+     * @param x posición horizontal del punto
+     * @param y posición vertical del punto
+     * @return índice de la celda, para leer {@link #direccionX}, {@link #direccionY} y {@link #cercana}
+     */
+    public int celda(float x, float y) {
+        return fila(y) * columnas + columna(x);
+    }
+
+    private int columna(float x) {
+        int c = (int) Math.floor(x / TAMANO_CELDA);
+        return c < 0 ? 0 : (c >= columnas ? columnas - 1 : c);
+    }
+
+    private int fila(float y) {
+        int f = (int) Math.floor(y / TAMANO_CELDA);
+        return f < 0 ? 0 : (f >= filas ? filas - 1 : f);
+    }
+
+    /**
+     * Obtiene cuántas veces se calculó el campo desde que se creó.
+     * @return cálculos del campo
+     */
+    public int getCalculos() {
+        return calculos;
+    }
+}
@@ -12,6 +12,22 @@ public interface Colisionable {
      * @return El Rectangle del sprite.
      */
     Rectangle getArea();
+
+    /**
+     * Verifica si el área de colisión de este objeto se superpone con el
+     * rectángulo dado, sin crear ni recalcular rectángulos intermedios.
+     * Es el camino usado por el ciclo interno de colisiones.
+     *
+     * @param x Posición horizontal del otro rectángulo
+     * @param y Posición vertical del otro rectángulo
+     * @param w Ancho del otro rectángulo
+     * @param h Alto del otro rectángulo
+     * @return true si ambos rectángulos se superponen, false si no.
+     */
+    default boolean overlaps(float x, float y, float w, float h) {
+        Rectangle a = getArea();
+        return a.x < x + w && a.x + a.width > x && a.y < y + h && a.y + a.height > y;
+    }
     
     /**
      * Verifica si este objeto está colisionando con otro.
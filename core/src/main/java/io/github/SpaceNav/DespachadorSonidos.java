@@ -0,0 +1,134 @@
+package io.github.SpaceNav;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Junta los efectos de sonido pedidos durante un frame y los reproduce todos
+ * juntos al final, una sola vez por frame con {@link #despachar(float)}.
+ * <p>
+ * Varias solicitudes del mismo sonido en un frame, como las explosiones de
+ * una ráfaga que destruye muchas naves a la vez, se funden en una sola
+ * reproducción cuyo volumen crece con la raíz cuadrada de la cantidad, hasta
+ * {@link #VOLUMEN_MAXIMO}. Además cada sonido tiene un máximo de voces
+ * simultáneas: si ya suenan todas, la reproducción se descarta en lugar de
+ * ocupar otra voz del audio. Así una matanza masiva no agota las voces del
+ * backend ni dispara el tiempo del frame.
+ * </p>
+ * <p>
+ * libGDX no avisa cuándo termina un {@link Sound}, así que una voz se
+ * considera ocupada durante la duración indicada al registrar el sonido.
+ * Solo se usa desde el hilo de dibujo y no crea objetos al solicitar ni al despachar.
+ * </p>
+ */
+public class DespachadorSonidos {
+
+    /** Volumen máximo de una reproducción fundida. */
+    public static final float VOLUMEN_MAXIMO = 1f;
+
+    // Sonidos registrados, por identificador, en arreglos paralelos
+    private final Array<Sound> sonidos = new Array<>();
+    private float[] volumenes = new float[4];
+    private float[] duraciones = new float[4];
+    /** Instante en que termina cada voz de cada sonido; su largo es el máximo de voces. */
+    private float[][] finVoces = new float[4][];
+    /** Solicitudes de cada sonido desde el último despacho. */
+    private int[] pendientes = new int[4];
+
+    /** Tiempo transcurrido desde que se creó el despachador, en segundos. */
+    private float tiempo;
+
+    /** Reproducciones descartadas por falta de voces libres desde que se creó el despachador. */
+    private int descartadas;
+
+    /**
+     * Registra un sonido para poder solicitarlo.
+     *
+     * @param sonido sonido a reproducir
+     * @param volumen volumen de una reproducción individual, entre 0 y 1
+     * @param duracion duración del sonido en segundos, durante la cual ocupa una voz
+     * @param vocesMaximas cantidad máxima de reproducciones simultáneas del sonido
+     * @return identificador del sonido para {@link #solicitar(int)}
+     */
+    public int registrar(Sound sonido, float volumen, float duracion, int vocesMaximas) {
+        if (vocesMaximas < 1) throw new IllegalArgumentException("Se necesita al menos una voz: " + vocesMaximas);
+        int id = sonidos.size;
+        if (id == pendientes.length) {
+            int capacidad = id * 2;
+            volumenes = Arrays.copyOf(volumenes, capacidad);
+            duraciones = Arrays.copyOf(duraciones, capacidad);
+            finVoces = Arrays.copyOf(finVoces, capacidad);
+            pendientes = Arrays.copyOf(pendientes, capacidad);
+        }
+        sonidos.add(sonido);
+        volumenes[id] = volumen;
+        duraciones[id] = duracion;
+        finVoces[id] = new float[vocesMaximas];
+        pendientes[id] = 0;
+        return id;
+    }
+
+    /**
+     * Pide reproducir un sonido en el próximo despacho.
+     * @param id identificador devuelto por {@link #registrar}
+     */
+    public void solicitar(int id) {
+        pendientes[id]++;
+    }
+
+    /**
+     * Reproduce los sonidos solicitados desde el último despacho: uno por
+     * sonido, con el volumen escalado según cuántas veces se pidió, y solo si
+     * le queda una voz libre. Se llama una vez por frame.
+     *
+     * @param delta tiempo transcurrido desde el despacho anterior, en segundos
+     */
+    public void despachar(float delta) {
+        tiempo += delta;
+        for (int id = 0; id < sonidos.size; id++) {
+            int cantidad = pendientes[id];
+            if (cantidad == 0) continue;
+            pendientes[id] = 0;
+
+            float[] voces = finVoces[id];
+            int libre = -1;
+            for (int v = 0; v < voces.length; v++) {
+                if (voces[v] <= tiempo) {
+                    libre = v;
+                    break;
+                }
+            }
+            if (libre < 0) {
+                descartadas++;
+                continue;
+            }
+            float volumen = Math.min(VOLUMEN_MAXIMO, volumenes[id] * (float)Math.sqrt(cantidad));
+            if (sonidos.get(id).play(volumen) != -1) {
+                voces[libre] = tiempo + duraciones[id];
+            }
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de voces de un sonido que siguen sonando.
+     * @param id identificador devuelto por {@link #registrar}
+     * @return voces ocupadas, entre 0 y el máximo registrado
+     */
+    public int getVocesActivas(int id) {
+        int activas = 0;
+        for (float fin : finVoces[id]) {
+            if (fin > tiempo) activas++;
+        }
+        return activas;
+    }
+
+    /**
+     * Obtiene cuántas reproducciones se descartaron por no quedar voces libres.
+     * @return reproducciones descartadas desde que se creó el despachador
+     */
+    public int getDescartadas() {
+        return descartadas;
+    }
+}
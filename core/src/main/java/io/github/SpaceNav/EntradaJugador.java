@@ -0,0 +1,46 @@
+package io.github.SpaceNav;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+
+/**
+ * {@link FuenteEntrada} que lee el teclado y acumula las teclas presionadas
+ * por el jugador entre ticks de simulación.
+ * <p>
+ * El teclado se lee una vez por frame dibujado, pero la simulación avanza a paso
+ * fijo: en un frame puede haber varios ticks o ninguno. Por eso las pulsaciones
+ * se guardan como una máscara de bits que el siguiente tick consume una sola vez,
+ * evitando tanto perder pulsaciones como aplicarlas dos veces.
+ * </p>
+ */
+public class EntradaJugador implements FuenteEntrada {
+
+    /** Teclas presionadas desde el último tick. */
+    private int pendientes;
+
+    /**
+     * Lee el teclado y agrega las teclas recién presionadas a las pendientes.
+     * Se llama una vez por frame dibujado.
+     */
+    public void capturar() {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.LEFT)) pendientes |= IZQUIERDA;
+        if (Gdx.input.isKeyJustPressed(Input.Keys.RIGHT)) pendientes |= DERECHA;
+        if (Gdx.input.isKeyJustPressed(Input.Keys.DOWN)) pendientes |= ABAJO;
+        if (Gdx.input.isKeyJustPressed(Input.Keys.UP)) pendientes |= ARRIBA;
+        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) pendientes |= DISPARO;
+    }
+
+    /**
+     * Entrega las teclas pendientes y las descarta, de modo que cada pulsación
+     * afecta a un único tick.
+     *
+     * @param sim simulación en curso (no se usa)
+     * @return máscara de bits con las teclas presionadas
+     */
+    @Override
+    public int leerTeclas(Simulacion sim) {
+        int teclas = pendientes;
+        pendientes = 0;
+        return teclas;
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.SpaceNav;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Escribe archivos en un hilo aparte para que el hilo de dibujo nunca espere al disco.
+ * Pertenece a {@link SpaceNavigation}.
+ * <p>
+ * Cada archivo se escribe primero en un temporal junto al destino, se fuerza a
+ * disco y recién entonces se renombra sobre el destino en una sola operación.
+ * Si el juego se cierra o se corta la luz a mitad de una escritura, queda el
+ * archivo anterior completo o el nuevo completo, nunca uno a medias.
+ * </p>
+ * <p>
+ * Las escrituras se ejecutan de a una y en el orden en que se pidieron, así
+ * que la última versión pedida de un archivo es la que queda en disco.
+ * </p>
+ */
+public class EscritorArchivos implements Disposable {
+
+    /** Tiempo máximo que se espera, al cerrar el juego, a que terminen las escrituras pendientes. */
+    private static final long SEGUNDOS_ESPERA_CIERRE = 2;
+
+    private final ExecutorService hilo = Executors.newSingleThreadExecutor(tarea -> {
+        Thread t = new Thread(tarea, "EscritorArchivos");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Encola la escritura de un archivo completo y vuelve de inmediato.
+     * Los errores se informan en el log.
+     *
+     * @param destino archivo a crear o reemplazar; sus carpetas se crean si hace falta
+     * @param contenido bytes del archivo; no deben modificarse después de llamar
+     */
+    public void escribir(File destino, byte[] contenido) {
+        hilo.execute(() -> {
+            try {
+                escribirAtomico(destino, contenido);
+            } catch (IOException e) {
+                Gdx.app.error("EscritorArchivos", "No se pudo escribir " + destino, e);
+            }
+        });
+    }
+
+    /**
+     * Encola el borrado de un archivo, después de las escrituras ya pedidas.
+     * No hace nada si el archivo no existe.
+     *
+     * @param destino archivo a borrar
+     */
+    public void borrar(File destino) {
+        hilo.execute(() -> {
+            try {
+                Files.deleteIfExists(destino.toPath());
+            } catch (IOException e) {
+                Gdx.app.error("EscritorArchivos", "No se pudo borrar " + destino, e);
+            }
+        });
+    }
+
+    /**
+     * Escribe un archivo completo en el hilo que llama, reemplazando el
+     * anterior en una sola operación.
+     *
+     * @param destino archivo a crear o reemplazar; sus carpetas se crean si hace falta
+     * @param contenido bytes del archivo
+     * @throws IOException si falla la escritura; el archivo anterior queda intacto
+     */
+    public static void escribirAtomico(File destino, byte[] contenido) throws IOException {
+        Path ruta = destino.getAbsoluteFile().toPath();
+        Files.createDirectories(ruta.getParent());
+        Path temporal = ruta.resolveSibling(ruta.getFileName() + ".tmp");
+
+        try (FileOutputStream salida = new FileOutputStream(temporal.toFile())) {
+            salida.write(contenido);
+            salida.getFD().sync();
+        }
+        try {
+            Files.move(temporal, ruta, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Deja de aceptar escrituras y espera unos instantes a que terminen las pendientes.
+     */
+    @Override
+    public void dispose() {
+        hilo.shutdown();
+        try {
+            hilo.awaitTermination(SEGUNDOS_ESPERA_CIERRE, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.SpaceNav;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Fase amplia (broadphase) de colisiones: indexa un almacén de entidades
+ * cuadradas del mismo tamaño y, dada un área, devuelve las que podrían
+ * superponerse con ella. {@link GestorColisiones} aplica después la prueba
+ * exacta de superposición solo sobre esos candidatos.
+ * <p>
+ * Las implementaciones conviene elegirlas según cómo se reparten las entidades:
+ * <ul>
+ * <li>{@link GrillaEspacial}: celdas fijas; rinde parejo si las entidades están repartidas.</li>
+ * <li>{@link BarridoEjeX}: entidades ordenadas por X; rinde bien si se reparten a lo largo
+ * del eje horizontal, como las balas.</li>
+ * <li>{@link ArbolCuadrantes}: árbol de cuadrantes holgado que se subdivide donde hay más
+ * entidades; rinde bien con grupos apretados, como los enemigos que convergen sobre el jugador.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Todas cumplen el mismo contrato, así que con cualquiera de ellas el juego
+ * evoluciona exactamente igual:
+ * <ul>
+ * <li>Ninguna entidad que se superponga con el área queda fuera del resultado;
+ * puede haber candidatos de más.</li>
+ * <li>El resultado queda ordenado de menor a mayor y sin duplicados.</li>
+ * <li>Después de {@link #reconstruir}, varias consultas pueden ejecutarse a la vez
+ * desde distintos hilos, siempre que cada una use su propio arreglo de resultado.</li>
+ * </ul>
+ * </p>
+ */
+public interface FaseAmplia {
+
+    /**
+     * Descarta el índice anterior e indexa todas las entidades de un almacén.
+     * Se llama una vez por tick antes de consultar.
+     *
+     * @param x posiciones horizontales de las entidades
+     * @param y posiciones verticales de las entidades
+     * @param tamano ancho y alto de cada entidad
+     * @param cantidad cantidad de entidades válidas en los arreglos; se guarda su índice
+     */
+    void reconstruir(float[] x, float[] y, float tamano, int cantidad);
+
+    /**
+     * Obtiene los índices de las entidades que podrían superponerse con el área dada.
+     *
+     * @param x posición horizontal del área
+     * @param y posición vertical del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     * @param resultado arreglo donde se dejan los índices, ordenados y sin duplicados;
+     *                  se vacía antes de usarse
+     */
+    void consultar(float x, float y, float ancho, float alto, IntArray resultado);
+
+    /**
+     * Obtiene los índices de las entidades que podrían superponerse con el rectángulo dado.
+     *
+     * @param area rectángulo a consultar
+     * @param resultado arreglo donde se dejan los índices; se vacía antes de usarse
+     * @see #consultar(float, float, float, float, IntArray)
+     */
+    default void consultar(Rectangle area, IntArray resultado) {
+        consultar(area.x, area.y, area.width, area.height, resultado);
+    }
+
+    /**
+     * Implementaciones disponibles, para elegir una por configuración.
+     */
+    enum Tipo {
+        GRILLA, BARRIDO, ARBOL;
+
+        /**
+         * Crea una fase amplia nueva de este tipo.
+         * @return la fase amplia, vacía
+         */
+        public FaseAmplia crear() {
+            switch (this) {
+                case BARRIDO:
+                    return new BarridoEjeX();
+                case ARBOL:
+                    return new ArbolCuadrantes();
+                default:
+                    return new GrillaEspacial();
+            }
+        }
+
+        /**
+         * Obtiene el tipo a partir de su nombre, sin distinguir mayúsculas.
+         *
+         * @param nombre "grilla", "barrido" o "arbol"
+         * @return el tipo correspondiente
+         * @throws IllegalArgumentException si el nombre no corresponde a ningún tipo
+         */
+        public static Tipo desdeNombre(String nombre) {
+            return valueOf(nombre.trim().toUpperCase());
+        }
+    }
+}
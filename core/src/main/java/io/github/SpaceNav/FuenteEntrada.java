@@ -0,0 +1,32 @@
+package io.github.SpaceNav;
+
+/**
+ * Origen de las órdenes que recibe la nave del jugador en cada tick de simulación.
+ * <p>
+ * En el juego normal la entrada viene del teclado ({@link EntradaJugador}),
+ * pero la simulación solo conoce esta interfaz, por lo que también puede ser
+ * controlada por un bot cuando se ejecuta sin ventana.
+ * </p>
+ */
+public interface FuenteEntrada {
+
+    /** Bit de la flecha izquierda. */
+    int IZQUIERDA = 1;
+    /** Bit de la flecha derecha. */
+    int DERECHA = 1 << 1;
+    /** Bit de la flecha abajo. */
+    int ABAJO = 1 << 2;
+    /** Bit de la flecha arriba. */
+    int ARRIBA = 1 << 3;
+    /** Bit de la barra espaciadora (disparo). */
+    int DISPARO = 1 << 4;
+
+    /**
+     * Entrega las teclas presionadas para el tick actual.
+     * Se llama exactamente una vez por tick.
+     *
+     * @param sim simulación en curso, por si la fuente necesita observar el estado
+     * @return máscara de bits con las constantes de esta interfaz
+     */
+    int leerTeclas(Simulacion sim);
+}
@@ -0,0 +1,58 @@
+package io.github.SpaceNav;
+
+import java.util.Random;
+
+/**
+ * {@link Random} cuyo estado interno se puede leer y restaurar, para guardarlo
+ * en una {@link Instantanea}.
+ * <p>
+ * Usa el mismo generador congruencial lineal de 48 bits que {@link Random}, así
+ * que con la misma semilla entrega exactamente la misma secuencia. A diferencia
+ * de {@link Random} no es seguro entre hilos: cada generador pertenece a una
+ * sola {@link Simulacion}.
+ * </p>
+ */
+public class GeneradorAzar extends Random {
+
+    private static final long MULTIPLICADOR = 0x5DEECE66DL;
+    private static final long SUMANDO = 0xBL;
+    private static final long MASCARA = (1L << 48) - 1;
+
+    // Sin inicializador: el constructor de Random llama a setSeed antes de inicializar los campos
+    private long estado;
+
+    /**
+     * Crea un generador con la secuencia de {@code new Random(semilla)}.
+     * @param semilla semilla inicial
+     */
+    public GeneradorAzar(long semilla) {
+        super(semilla);
+    }
+
+    @Override
+    public void setSeed(long semilla) {
+        estado = (semilla ^ MULTIPLICADOR) & MASCARA;
+    }
+
+    @Override
+    protected int next(int bits) {
+        estado = (estado * MULTIPLICADOR + SUMANDO) & MASCARA;
+        return (int)(estado >>> (48 - bits));
+    }
+
+    /**
+     * Obtiene el estado interno, que determina todos los números siguientes.
+     * @return estado de 48 bits
+     */
+    public long getEstado() {
+        return estado;
+    }
+
+    /**
+     * Restaura un estado obtenido con {@link #getEstado()}.
+     * @param estado estado de 48 bits
+     */
+    public void setEstado(long estado) {
+        this.estado = estado & MASCARA;
+    }
+}
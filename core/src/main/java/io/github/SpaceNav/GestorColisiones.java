@@ -1,90 +1,367 @@
 package io.github.SpaceNav;
 
-import java.util.ArrayList;
-import com.badlogic.gdx.audio.Sound;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 
 /**
  * Clase responsable de gestionar todas las colisiones entre los objetos
  * del juego, incluyendo jugador, enemigos, balas y power-ups.
  * Se encarga de detectar colisiones y aplicar las consecuencias correspondientes,
  * como daño, destrucción de objetos, incremento de puntuación o activación de efectos.
+ * <p>
+ * Las naves enemigas no chocan entre sí: se mantienen separadas al moverse,
+ * en {@link SistemaActualizacion}.
+ * </p>
+ * <p>
+ * Usa una {@link FaseAmplia} para que solo los pares cercanos lleguen a la
+ * prueba de superposición; por defecto una {@link GrillaEspacial}, aunque se
+ * puede elegir otra con {@link #setFaseAmplia(FaseAmplia)} o al iniciar con
+ * {@code -Dspacenav.faseAmplia=grilla|barrido|arbol}.
+ * La comparación exhaustiva original sigue disponible con
+ * {@link #setUsarFaseAmplia(boolean)} para poder comparar los caminos; todos
+ * producen exactamente el mismo resultado de juego.
+ * </p>
+ * <p>
+ * Enemigos y balas se recorren directamente sobre los arreglos de
+ * {@link AlmacenEnemigos} y {@link AlmacenBalas}. Este gestor no retira
+ * entidades: solo las marca como destruidas. {@link Simulacion} las compacta
+ * al terminar la fase de colisiones.
+ * </p>
+ * <p>
+ * Con la fase amplia, las colisiones entre balas y enemigos se procesan en dos
+ * fases. La detección solo lee posiciones, que no cambian durante las colisiones,
+ * y deja los pares que se superponen en buffers propios de cada tramo de balas;
+ * con muchas balas los tramos se reparten entre los hilos de un {@link ForkJoinPool}.
+ * La resolución recorre luego los buffers en orden en el hilo que llamó y es la
+ * única que aplica daño, puntaje, power-ups y eventos de sonido, así que el
+ * resultado no depende de cuántos hilos hayan participado.
+ * </p>
  */
 public class GestorColisiones {
 
+    /** Tamaño de las naves enemigas, con el que se indexan y se prueban. */
+    private static final float TAMANO_ENEMIGO = AlmacenEnemigos.TAMANO;
+
+    /** Cantidad mínima de entidades recorridas para repartir la detección entre hilos. */
+    public static final int UMBRAL_PARALELO = 1024;
+
+    /** Entidades recorridas por cada tramo de la detección paralela. */
+    private static final int ENTIDADES_POR_TRAMO = 256;
+
+    /** Fase amplia que indexa a los enemigos en cada tick. */
+    private FaseAmplia faseAmplia = FaseAmplia.Tipo.desdeNombre(System.getProperty("spacenav.faseAmplia", "grilla")).crear();
+
+    /**
+     * Indica si se usa la fase amplia (true) o la comparación por fuerza bruta (false).
+     * Se puede forzar la fuerza bruta al iniciar con {@code -Dspacenav.fuerzaBruta=true}.
+     */
+    private boolean usarFaseAmplia = !Boolean.getBoolean("spacenav.fuerzaBruta");
+
+    /** Índices candidatos devueltos por la fase amplia al consultar el área del jugador. */
+    private final IntArray candidatos = new IntArray();
+
+    /**
+     * Indica si la detección se reparte entre hilos cuando hay muchas entidades.
+     * Se puede forzar el camino secuencial al iniciar con {@code -Dspacenav.secuencial=true}.
+     */
+    private boolean paralelo = !Boolean.getBoolean("spacenav.secuencial");
+
+    /** Hilos que ejecutan la detección paralela. */
+    private final ForkJoinPool pool;
+
+    /** Buffers de cada tramo de la detección; se reutilizan entre ticks. */
+    private final Array<Tramo> tramos = new Array<>();
+
+    /**
+     * Crea el gestor usando el pool común de la JVM para la detección paralela.
+     */
+    public GestorColisiones() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crea el gestor usando el pool indicado para la detección paralela.
+     *
+     * @param pool hilos que ejecutan la detección paralela
+     */
+    public GestorColisiones(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
 	/**
      * Maneja todas las colisiones del juego en el estado actual.
-     * Comprueba colisiones entre balas y enemigos, entre enemigos, 
+     * Comprueba colisiones entre balas y enemigos,
      * entre el jugador y enemigos, y entre el jugador y power-ups.
      * Aplica los efectos correspondientes a cada interacción, incluyendo
-     * reproducción de sonidos, eliminación de objetos y activación de power-ups.
+     * aviso de eventos con sonido, marcado de objetos destruidos y activación de power-ups.
      *
      * @param nave Nave del jugador
-     * @param enemigos Lista de enemigos activos en la pantalla
-     * @param balas Lista de balas activas en la pantalla
-     * @param powerUps Lista de power-ups presentes en la pantalla
-     * @param explosionSound Sonido que se reproduce al destruir un enemigo
-     * @param juego Instancia de {@link PantallaJuego} para actualizar score y gestionar eventos
+     * @param enemigos Almacén de enemigos activos
+     * @param balas Almacén de balas activas
+     * @param powerUps Power-ups presentes en la pantalla
+     * @param sim {@link Simulacion} para actualizar score y gestionar eventos
      */
     public void manejarColisiones(
             NaveJugador nave,
-            ArrayList<NaveEnemiga> enemigos,
-            ArrayList<Bullet> balas,
-            ArrayList<PowerUp> powerUps,  // <-- agregado
-            Sound explosionSound,
-            PantallaJuego juego) {
+            AlmacenEnemigos enemigos,
+            AlmacenBalas balas,
+            BolsaEntidades<PowerUp> powerUps,
+            Simulacion sim) {
 
         if (!nave.estaHerido()) {
+            if (usarFaseAmplia) {
+                manejarColisionesFaseAmplia(nave, enemigos, balas, sim);
+            } else {
+                manejarColisionesFuerzaBruta(nave, enemigos, balas, sim);
+            }
+        }
 
-            // --- Balas vs Enemigos ---
-            for (int i = 0; i < balas.size(); i++) {
-                Bullet b = balas.get(i);
-                for (int j = 0; j < enemigos.size(); j++) {
-                    NaveEnemiga enemigo = enemigos.get(j);
-                    if (b.colisionaCon(enemigo)) {
-                        b.alColisionar(enemigo);
-                        if (enemigo.estaDestruido()) {
-                            explosionSound.play(0.3f);
-                            enemigos.remove(j);
-                            j--;
-                            juego.incrementarScore(10);
-                            
-                            juego.soltarPowerUp(enemigo.getX(), enemigo.getY());
-                        }
-                    }
-                }
+        // --- Jugador vs PowerUps ---
+        for (int i = 0; i < powerUps.tamano(); i++) {
+            PowerUp p = powerUps.obtener(i);
+            if (!p.isDestroyed() && p.colisionaCon(nave)) {
+                nave.recibirPowerUp(p.getTipo());
+                p.alColisionar(nave); // queda marcado para desaparecer
             }
+        }
+    }
+
+    /**
+     * Comparación exhaustiva original: cada bala contra cada enemigo y el jugador contra cada enemigo.
+     */
+    private void manejarColisionesFuerzaBruta(
+            NaveJugador nave,
+            AlmacenEnemigos enemigos,
+            AlmacenBalas balas,
+            Simulacion sim) {
 
-            // --- Enemigos vs Enemigos ---
-            for (int i = 0; i < enemigos.size(); i++) {
-                NaveEnemiga e1 = enemigos.get(i);
-                for (int j = i + 1; j < enemigos.size(); j++) {
-                    NaveEnemiga e2 = enemigos.get(j);
-                    if (e1.colisionaCon(e2)) {
-                        e1.alColisionar(e2);
-                    }
+        // --- Balas vs Enemigos ---
+        for (int i = 0; i < balas.tamano(); i++) {
+            for (int j = 0; j < enemigos.tamano(); j++) {
+                if (solapan(enemigos.x[j], enemigos.y[j], TAMANO_ENEMIGO, balas.x[i], balas.y[i], AlmacenBalas.TAMANO)) {
+                    impactar(balas, i, enemigos, j, sim);
                 }
             }
+        }
+
+        // --- Jugador vs Enemigos ---
+        for (int i = 0; i < enemigos.tamano(); i++) {
+            chocarConJugador(nave, enemigos, i);
+        }
+    }
+
+    /**
+     * Variante que consulta la {@link FaseAmplia}. Los pares se detectan y
+     * se resuelven en el mismo orden que la comparación exhaustiva, por lo que
+     * el resultado es idéntico.
+     */
+    private void manejarColisionesFaseAmplia(
+            NaveJugador nave,
+            AlmacenEnemigos enemigos,
+            AlmacenBalas balas,
+            Simulacion sim) {
+
+        faseAmplia.reconstruir(enemigos.x, enemigos.y, TAMANO_ENEMIGO, enemigos.tamano());
+
+        // --- Balas vs Enemigos ---
+        // Un enemigo destruido por una bala ya no recibe las siguientes, así que
+        // la detección no descarta destruidos y la resolución los vuelve a revisar
+        int usados = detectar(balas.tamano(), enemigos, balas);
+        for (int t = 0; t < usados; t++) {
+            IntArray pares = tramos.get(t).pares;
+            for (int k = 0; k < pares.size; k += 2) {
+                impactar(balas, pares.items[k], enemigos, pares.items[k + 1], sim);
+            }
+        }
+
+        // --- Jugador vs Enemigos ---
+        faseAmplia.consultar(nave.getArea(), candidatos);
+        for (int k = 0; k < candidatos.size; k++) {
+            chocarConJugador(nave, enemigos, candidatos.get(k));
+        }
+    }
 
-            // --- Jugador vs Enemigos ---
-            for (int i = 0; i < enemigos.size(); i++) {
-                NaveEnemiga enemigo = enemigos.get(i);
-                if (nave.colisionaCon(enemigo)) {
-                    nave.alColisionar(enemigo);
-                    enemigos.remove(i);
-                    i--;
+    /**
+     * Detecta los pares (bala, enemigo) que se superponen y los deja en los buffers
+     * de los tramos, sin modificar ninguna entidad. Con pocas balas, o con el camino
+     * paralelo deshabilitado, todo se detecta en un único tramo en el hilo que llama.
+     *
+     * @param cantidad cantidad de balas a recorrer
+     * @return cantidad de tramos usados; sus buffers se resuelven en orden
+     */
+    private int detectar(int cantidad, AlmacenEnemigos enemigos, AlmacenBalas balas) {
+        if (!paralelo || cantidad < UMBRAL_PARALELO) {
+            detectar(enemigos, balas, 0, cantidad, tramo(0));
+            return 1;
+        }
+
+        int usados = (cantidad + ENTIDADES_POR_TRAMO - 1) / ENTIDADES_POR_TRAMO;
+        for (int t = 0; t < usados; t++) {
+            tramo(t); // los buffers se crean antes de repartir
+        }
+        pool.invoke(new TareaDeteccion(enemigos, balas, cantidad, 0, usados));
+        return usados;
+    }
+
+    /**
+     * Obtiene el buffer del tramo indicado, creándolo si todavía no existe.
+     */
+    private Tramo tramo(int indice) {
+        while (tramos.size <= indice) {
+            tramos.add(new Tramo());
+        }
+        return tramos.get(indice);
+    }
+
+    /**
+     * Detecta los pares cuya bala está en el rango {@code [desde, hasta)}.
+     * Solo lee los almacenes y la fase amplia y solo escribe en el tramo recibido,
+     * por lo que rangos disjuntos pueden detectarse a la vez.
+     */
+    private void detectar(AlmacenEnemigos enemigos, AlmacenBalas balas, int desde, int hasta, Tramo tramo) {
+        IntArray pares = tramo.pares, candidatos = tramo.candidatos;
+        pares.clear();
+        float[] x = enemigos.x, y = enemigos.y;
+
+        for (int i = desde; i < hasta; i++) {
+            float bx = balas.x[i], by = balas.y[i];
+            faseAmplia.consultar(bx, by, AlmacenBalas.TAMANO, AlmacenBalas.TAMANO, candidatos);
+            for (int k = 0; k < candidatos.size; k++) {
+                int j = candidatos.get(k);
+                if (solapan(x[j], y[j], TAMANO_ENEMIGO, bx, by, AlmacenBalas.TAMANO)) {
+                    pares.add(i, j);
                 }
             }
         }
+    }
 
-        // --- Jugador vs PowerUps ---
-        for (int i = 0; i < powerUps.size(); i++) {
-            PowerUp p = powerUps.get(i);
-            if (p.colisionaCon(nave)) {
-                nave.recibirPowerUp(p.getTipo());
-                p.alColisionar(nave);
-                powerUps.remove(i); // <-- eliminar para que desaparezca
-                i--;
+    /**
+     * Buffers de un tramo de la detección: los pares encontrados, guardados como
+     * índices consecutivos, y los candidatos de la consulta en curso.
+     */
+    private static final class Tramo {
+        final IntArray pares = new IntArray();
+        final IntArray candidatos = new IntArray();
+    }
+
+    /**
+     * Tarea que divide un rango de tramos por la mitad hasta llegar a uno solo
+     * y lo detecta en su propio buffer.
+     */
+    private class TareaDeteccion extends RecursiveAction {
+        private final AlmacenEnemigos enemigos;
+        private final AlmacenBalas balas;
+        private final int cantidad;
+        private final int desde;
+        private final int hasta;
+
+        TareaDeteccion(AlmacenEnemigos enemigos, AlmacenBalas balas, int cantidad, int desde, int hasta) {
+            this.enemigos = enemigos;
+            this.balas = balas;
+            this.cantidad = cantidad;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde == 1) {
+                int inicio = desde * ENTIDADES_POR_TRAMO;
+                detectar(enemigos, balas, inicio, Math.min(cantidad, inicio + ENTIDADES_POR_TRAMO), tramos.get(desde));
+                return;
             }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new TareaDeteccion(enemigos, balas, cantidad, desde, medio),
+                    new TareaDeteccion(enemigos, balas, cantidad, medio, hasta));
+        }
+    }
+
+    /**
+     * Aplica el impacto de una bala sobre un enemigo que se superpone con ella:
+     * la bala desaparece y el enemigo recibe un punto de daño.
+     * Si el enemigo es destruido se avisa a la simulación, que suma puntaje,
+     * informa la explosión e intenta soltar un power-up.
+     */
+    private void impactar(AlmacenBalas balas, int b, AlmacenEnemigos enemigos, int e, Simulacion sim) {
+        if (enemigos.estaDestruida(e)) return;
+
+        balas.destruir(b);
+        enemigos.recibirDano(e, 1);
+        if (enemigos.estaDestruida(e)) {
+            sim.enemigoDestruido(enemigos.x[e], enemigos.y[e]);
+        }
+    }
+
+    /**
+     * Aplica el choque entre el jugador y un enemigo si ambos se superponen.
+     * El jugador rebota y recibe daño; el enemigo desaparece.
+     */
+    private void chocarConJugador(NaveJugador nave, AlmacenEnemigos enemigos, int e) {
+        if (!enemigos.estaDestruida(e) && nave.overlaps(enemigos.x[e], enemigos.y[e], TAMANO_ENEMIGO, TAMANO_ENEMIGO)) {
+            nave.chocarConEnemigo(enemigos, e);
+            enemigos.destruir(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Indica si dos cuadrados se superponen, con la misma prueba que
+     * {@link Colisionable#overlaps(float, float, float, float)}.
+     */
+    private static boolean solapan(float ax, float ay, float aTamano, float bx, float by, float bTamano) {
+        return ax < bx + bTamano && ax + aTamano > bx && ay < by + bTamano && ay + aTamano > by;
+    }
+
+    /**
+     * Indica si se está usando una fase amplia.
+     * @return true si se usa la fase amplia, false si se usa la fuerza bruta
+     */
+    public boolean isUsarFaseAmplia() {
+        return usarFaseAmplia;
+    }
+
+    /**
+     * Selecciona el algoritmo de detección de colisiones.
+     * @param usarFaseAmplia true para la fase amplia, false para la comparación exhaustiva original
+     */
+    public void setUsarFaseAmplia(boolean usarFaseAmplia) {
+        this.usarFaseAmplia = usarFaseAmplia;
+    }
+
+    /**
+     * Obtiene la fase amplia que se usa cuando {@link #isUsarFaseAmplia()} es true.
+     * @return fase amplia actual
+     */
+    public FaseAmplia getFaseAmplia() {
+        return faseAmplia;
+    }
+
+    /**
+     * Reemplaza la fase amplia. Cualquier implementación da el mismo resultado
+     * de juego; solo cambia el rendimiento según cómo se reparten los enemigos.
+     * @param faseAmplia fase amplia a usar desde el próximo tick
+     */
+    public void setFaseAmplia(FaseAmplia faseAmplia) {
+        this.faseAmplia = faseAmplia;
+    }
+
+    /**
+     * Indica si la detección con la fase amplia se reparte entre hilos cuando hay muchas entidades.
+     * @return true si el camino paralelo está habilitado
+     */
+    public boolean isParalelo() {
+        return paralelo;
+    }
+
+    /**
+     * Habilita o deshabilita la detección paralela. Con menos de
+     * {@link #UMBRAL_PARALELO} entidades la detección es siempre secuencial.
+     * @param paralelo true para repartir entre hilos, false para el camino secuencial
+     */
+    public void setParalelo(boolean paralelo) {
+        this.paralelo = paralelo;
+    }
+
+}
@@ -0,0 +1,174 @@
+package io.github.SpaceNav;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectSet;
+
+/**
+ * Registro central de recursos (texturas, atlas, sonidos y música) compartido
+ * por todas las pantallas. Pertenece a {@link SpaceNavigation}.
+ * <p>
+ * Cuenta referencias: cada {@link #obtener} suma una y cada {@link #liberar}
+ * la resta. El recurso solo se lee de disco la primera vez y, salvo que haya
+ * sido precargado, se libera cuando nadie más lo usa. Una sola
+ * {@link PantallaJuego} dura toda la partida y suelta sus referencias recién
+ * al perderla, así que pasar de ronda no vuelve a cargar nada.
+ * </p>
+ * <p>
+ * Los recursos precargados con {@link #precargarTodo()} se cargan con el
+ * {@link AssetManager} de libGDX: la lectura y decodificación ocurren en un
+ * hilo aparte y en el hilo de dibujo solo se sube la textura a la GPU, en
+ * pequeñas porciones de tiempo por frame con {@link #actualizar()}. Quedan
+ * cargados hasta cerrar el juego.
+ * </p>
+ */
+public class GestorRecursos implements Disposable {
+
+    // Rutas de los recursos, relativas a la carpeta assets
+    public static final String FONDO_JUEGO = "sala.png";
+    public static final String FONDO_MENU = "portada.png";
+    public static final String FONDO_GAME_OVER = "gameOver.png";
+    /** Atlas generado por la tarea {@code packTextures} a partir de {@code raw/sprites}. */
+    public static final String ATLAS_SPRITES = "atlas/sprites.atlas";
+    public static final String SONIDO_EXPLOSION = "explosion.ogg";
+    public static final String SONIDO_HERIDO = "hit.mp3";
+    public static final String SONIDO_DISPARO = "shoot.mp3";
+    public static final String SONIDO_POWER_UP = "powerup.mp3";
+    /** Generada por la tarea {@code encodeMusic} a partir de {@code raw/music/piano-loops.wav}. */
+    public static final String MUSICA_JUEGO = "music/piano-loops.ogg";
+    public static final String MUSICA_MENU = "inicio.mp3";
+    public static final String MUSICA_GAME_OVER = "gameOver.mp3";
+    /** Tabla de oleadas de enemigos; se lee una sola vez al iniciar, fuera del {@link AssetManager}. */
+    public static final String OLEADAS = "oleadas.txt";
+
+    /** Recursos que necesita {@link PantallaMenu}. */
+    public static final String[] RECURSOS_MENU = { FONDO_MENU, MUSICA_MENU };
+    /** Recursos que necesitan {@link PantallaJuego} y {@link PantallaGameOver}. */
+    public static final String[] RECURSOS_JUEGO = {
+        FONDO_JUEGO, ATLAS_SPRITES, SONIDO_EXPLOSION, SONIDO_HERIDO, SONIDO_DISPARO,
+        SONIDO_POWER_UP, MUSICA_JUEGO, FONDO_GAME_OVER, MUSICA_GAME_OVER
+    };
+
+    /** Tiempo máximo por frame dedicado a terminar cargas en el hilo de dibujo, en milisegundos. */
+    private static final int MS_CARGA_POR_FRAME = 4;
+
+    private final AssetManager manager = new AssetManager();
+
+    /** Referencias vigentes de cada recurso obtenido con {@link #obtener}. */
+    private final ObjectIntMap<String> referencias = new ObjectIntMap<>();
+
+    /** Recursos precargados, que no se liberan aunque se queden sin referencias. */
+    private final ObjectSet<String> fijos = new ObjectSet<>();
+
+    /**
+     * Encola la carga en segundo plano de todos los recursos del juego,
+     * primero los del menú. La carga avanza con cada llamada a {@link #actualizar()}.
+     */
+    public void precargarTodo() {
+        precargar(FONDO_MENU, Texture.class);
+        precargar(MUSICA_MENU, Music.class);
+
+        precargar(FONDO_JUEGO, Texture.class);
+        precargar(ATLAS_SPRITES, TextureAtlas.class);
+        precargar(SONIDO_EXPLOSION, Sound.class);
+        precargar(SONIDO_HERIDO, Sound.class);
+        precargar(SONIDO_DISPARO, Sound.class);
+        precargar(SONIDO_POWER_UP, Sound.class);
+        precargar(MUSICA_JUEGO, Music.class);
+        precargar(FONDO_GAME_OVER, Texture.class);
+        precargar(MUSICA_GAME_OVER, Music.class);
+    }
+
+    private void precargar(String ruta, Class<?> tipo) {
+        if (fijos.add(ruta) && !manager.contains(ruta)) {
+            manager.load(ruta, tipo);
+        }
+    }
+
+    /**
+     * Avanza la carga en segundo plano. Se llama una vez por frame desde el hilo de dibujo
+     * y lo bloquea como máximo unos pocos milisegundos.
+     *
+     * @return true si no queda nada por cargar
+     */
+    public boolean actualizar() {
+        return manager.update(MS_CARGA_POR_FRAME);
+    }
+
+    /**
+     * Indica si todos los recursos indicados ya están cargados.
+     *
+     * @param rutas rutas de los recursos dentro de assets
+     * @return true si se pueden obtener sin esperar
+     */
+    public boolean estanCargados(String... rutas) {
+        for (String ruta : rutas) {
+            if (!manager.isLoaded(ruta)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene el progreso de la carga en segundo plano.
+     * @return valor entre 0 y 1
+     */
+    public float getProgreso() {
+        return manager.getProgress();
+    }
+
+    /**
+     * Obtiene un recurso y registra una referencia a él. Si todavía no estaba
+     * cargado, espera a que termine de cargarse.
+     *
+     * @param ruta ruta del recurso dentro de assets
+     * @param tipo clase del recurso (por ejemplo {@code Texture.class})
+     * @return el recurso compartido; no debe liberarse con {@code dispose()}
+     */
+    public <T> T obtener(String ruta, Class<T> tipo) {
+        if (!manager.contains(ruta)) {
+            manager.load(ruta, tipo);
+        }
+        if (!manager.isLoaded(ruta)) {
+            manager.finishLoadingAsset(ruta);
+        }
+        referencias.getAndIncrement(ruta, 0, 1);
+        return manager.get(ruta, tipo);
+    }
+
+    /**
+     * Quita una referencia a un recurso obtenido con {@link #obtener}.
+     * Cuando ya no quedan referencias el recurso se libera, salvo que haya sido precargado.
+     *
+     * @param ruta ruta del recurso dentro de assets
+     */
+    public void liberar(String ruta) {
+        int restantes = referencias.getAndIncrement(ruta, 0, -1) - 1;
+        if (restantes > 0) return;
+
+        referencias.remove(ruta, 0);
+        if (!fijos.contains(ruta) && manager.isLoaded(ruta)) {
+            manager.unload(ruta);
+        }
+    }
+
+    /**
+     * Indica cuántas referencias tiene un recurso.
+     *
+     * @param ruta ruta del recurso dentro de assets
+     * @return cantidad de referencias, o 0 si nadie lo está usando
+     */
+    public int getReferencias(String ruta) {
+        return referencias.get(ruta, 0);
+    }
+
+    /** Libera todos los recursos, tengan o no referencias. */
+    @Override
+    public void dispose() {
+        manager.dispose();
+    }
+}
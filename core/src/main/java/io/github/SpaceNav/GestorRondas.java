@@ -1,13 +1,16 @@
 package io.github.SpaceNav;
 
-import com.badlogic.gdx.Screen;
-
 /**
  * Clase responsable de gestionar las rondas del juego.
- * Controla las condiciones de victoria y derrota, 
- * y gestiona las transiciones correspondientes entre pantallas.
+ * Controla las condiciones de victoria y derrota de una {@link Simulacion}
+ * y, al terminar la transición, la reinicia con las condiciones de la ronda
+ * siguiente. {@link PantallaJuego} sigue dibujando la misma simulación, así
+ * que pasar de ronda no crea pantallas ni vuelve a obtener recursos.
  */
 public class GestorRondas {
+
+	/** Enemigos adicionales que tiene cada ronda respecto de la anterior, en las oleadas con cantidad {@code n}. */
+	public static final int ENEMIGOS_EXTRA_POR_RONDA = 5;
 	
 	/**
      * Maneja la lógica de avance de rondas.
@@ -15,30 +18,36 @@ public class GestorRondas {
      * aplicando las acciones correspondientes:
      * - Marca la ronda como completada si se han creado suficientes enemigos y 
      *   no quedan enemigos activos.
-     * - Cambia a la pantalla de Game Over si el jugador ha sido destruido, 
-     *   actualizando el récord si corresponde.
+     * - Marca el juego como terminado si el jugador ha sido destruido.
      *
-     * @param juego Instancia de {@link PantallaJuego} que contiene el estado actual del juego
+     * @param sim {@link Simulacion} que contiene el estado actual del juego
      * @param nave Nave del jugador
      * @param enemigosCreados Número total de enemigos generados en la ronda actual
-     * @param enemigosMaxNivel Número máximo de enemigos permitidos en el nivel
+     * @param enemigosMaxNivel Número total de enemigos de las oleadas de la ronda
      */
-	public void manejarRondas(PantallaJuego juego, NaveJugador nave, int enemigosCreados, int enemigosMaxNivel) {
+	public void manejarRondas(Simulacion sim, NaveJugador nave, int enemigosCreados, int enemigosMaxNivel) {
 	    // Condición de victoria
-	    if (juego.getEnemigos().isEmpty() && enemigosCreados >= enemigosMaxNivel) {
-	        juego.setRondaCompletada(true); // activa bandera para transición
+	    if (sim.getEnemigos().estaVacia() && enemigosCreados >= enemigosMaxNivel) {
+	        sim.setRondaCompletada(true); // activa bandera para transición
 	        return;
 	    }
 
 	    // Condición de derrota
 	    if (nave.estaDestruido()) {
-	        if (juego.getScore() > juego.getGame().getHighScore())
-	            juego.getGame().setHighScore(juego.getScore());
-
-	        Screen gameOver = new PantallaGameOver(juego.getGame());
-	        gameOver.resize(1200, 800);
-	        juego.getGame().setScreen(gameOver);
-	        juego.dispose();
+	        sim.setJuegoTerminado(true);
 	    }
 	}
+
+	/**
+     * Reinicia la simulación en la ronda siguiente: conserva vidas y puntaje, suma
+     * {@link #ENEMIGOS_EXTRA_POR_RONDA} enemigos y usa la semilla derivada de la
+     * ronda anterior, de modo que una partida completa depende solo de la
+     * semilla de su primera ronda.
+     *
+     * @param sim {@link Simulacion} cuya transición terminó
+     */
+	public void iniciarSiguienteRonda(Simulacion sim) {
+	    sim.reiniciar(sim.getRonda() + 1, sim.getNave().getVidas(), sim.getScore(),
+	            sim.getCantEnemigos() + ENEMIGOS_EXTRA_POR_RONDA, sim.getSemillaSiguiente());
+	}
 }
@@ -0,0 +1,46 @@
+package io.github.SpaceNav;
+
+/**
+ * {@link FuenteEntrada} que envuelve a otra y graba en una {@link Repeticion}
+ * las teclas que entrega en cada tick.
+ * <p>
+ * Se coloca entre la fuente real (teclado o bot) y {@link NaveJugador#update},
+ * así que lo grabado es exactamente lo que recibió la simulación.
+ * </p>
+ */
+public class GrabadorEntrada implements FuenteEntrada {
+
+    /** Fuente real de las teclas. */
+    private final FuenteEntrada fuente;
+
+    /** Repetición donde se agregan las teclas. */
+    private final Repeticion repeticion;
+
+    /**
+     * Crea un grabador.
+     *
+     * @param fuente fuente real de las teclas
+     * @param repeticion repetición donde se graban
+     */
+    public GrabadorEntrada(FuenteEntrada fuente, Repeticion repeticion) {
+        this.fuente = fuente;
+        this.repeticion = repeticion;
+    }
+
+    /**
+     * Lee las teclas de la fuente real, las graba y las entrega sin cambios.
+     *
+     * @param sim simulación en curso
+     * @return máscara de bits con las teclas presionadas
+     */
+    @Override
+    public int leerTeclas(Simulacion sim) {
+        int teclas = fuente.leerTeclas(sim);
+        repeticion.agregarTeclas(teclas);
+        return teclas;
+    }
+
+    public Repeticion getRepeticion() {
+        return repeticion;
+    }
+}
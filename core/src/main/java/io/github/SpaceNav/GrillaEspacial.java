@@ -0,0 +1,128 @@
+package io.github.SpaceNav;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * {@link FaseAmplia} basada en una grilla uniforme
+ * que cubre el mundo del juego ({@link PantallaJuego#WORLD_WIDTH} x
+ * {@link PantallaJuego#WORLD_HEIGHT}).
+ * <p>
+ * Cada celda guarda los índices de las entidades cuyo rectángulo de colisión
+ * la toca. Así, una consulta solo devuelve las entidades cercanas y
+ * la prueba de superposición se evalúa únicamente sobre pares que
+ * realmente pueden superponerse.
+ * </p>
+ * <p>
+ * Las entidades que salen del mundo se asignan a las celdas del borde,
+ * por lo que nunca se pierde un par candidato.
+ * </p>
+ */
+public class GrillaEspacial implements FaseAmplia {
+
+    /** Tamaño por defecto de cada celda, algo mayor que una nave (90x90). */
+    public static final float TAMANO_CELDA_DEFECTO = 100f;
+
+    /** Tamaño (ancho y alto) de cada celda. */
+    private final float tamanoCelda;
+
+    /** Cantidad de columnas de la grilla. */
+    private final int columnas;
+
+    /** Cantidad de filas de la grilla. */
+    private final int filas;
+
+    /** Índices de entidades almacenados en cada celda. */
+    private final IntArray[] celdas;
+
+    /**
+     * Crea una grilla con el tamaño de celda por defecto.
+     */
+    public GrillaEspacial() {
+        this(TAMANO_CELDA_DEFECTO);
+    }
+
+    /**
+     * Crea una grilla que cubre el mundo del juego.
+     *
+     * @param tamanoCelda tamaño de cada celda en unidades del mundo
+     */
+    public GrillaEspacial(float tamanoCelda) {
+        this.tamanoCelda = tamanoCelda;
+        this.columnas = (int) Math.ceil(PantallaJuego.WORLD_WIDTH / tamanoCelda);
+        this.filas = (int) Math.ceil(PantallaJuego.WORLD_HEIGHT / tamanoCelda);
+        this.celdas = new IntArray[columnas * filas];
+        for (int i = 0; i < celdas.length; i++) {
+            celdas[i] = new IntArray();
+        }
+    }
+
+    /**
+     * Vacía la grilla y vuelve a insertar todas las entidades de un almacén.
+     * Se llama una vez por tick antes de consultar.
+     *
+     * @param x posiciones horizontales de las entidades
+     * @param y posiciones verticales de las entidades
+     * @param tamano ancho y alto de cada entidad
+     * @param cantidad cantidad de entidades válidas en los arreglos; se guarda su índice
+     */
+    @Override
+    public void reconstruir(float[] x, float[] y, float tamano, int cantidad) {
+        for (IntArray celda : celdas) {
+            celda.clear();
+        }
+        for (int i = 0; i < cantidad; i++) {
+            int c0 = columna(x[i]), c1 = columna(x[i] + tamano);
+            int f0 = fila(y[i]), f1 = fila(y[i] + tamano);
+            for (int f = f0; f <= f1; f++) {
+                for (int c = c0; c <= c1; c++) {
+                    celdas[f * columnas + c].add(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene los índices de las entidades que comparten alguna celda con el área dada.
+     * El resultado queda ordenado de menor a mayor y sin duplicados, de modo que
+     * recorrerlo respeta el mismo orden que el almacén original.
+     *
+     * @param x posición horizontal del área
+     * @param y posición vertical del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     * @param resultado arreglo donde se dejan los índices; se vacía antes de usarse
+     */
+    @Override
+    public void consultar(float x, float y, float ancho, float alto, IntArray resultado) {
+        resultado.clear();
+        int c0 = columna(x), c1 = columna(x + ancho);
+        int f0 = fila(y), f1 = fila(y + alto);
+        for (int f = f0; f <= f1; f++) {
+            for (int c = c0; c <= c1; c++) {
+                resultado.addAll(celdas[f * columnas + c]);
+            }
+        }
+        if (resultado.size < 2) return;
+
+        // Una entidad que ocupa varias celdas aparece repetida
+        resultado.sort();
+        int[] items = resultado.items;
+        int unicos = 1;
+        for (int i = 1; i < resultado.size; i++) {
+            if (items[i] != items[unicos - 1]) {
+                items[unicos++] = items[i];
+            }
+        }
+        resultado.size = unicos;
+    }
+
+    private int columna(float x) {
+        int c = (int) Math.floor(x / tamanoCelda);
+        return c < 0 ? 0 : (c >= columnas ? columnas - 1 : c);
+    }
+
+    private int fila(float y) {
+        int f = (int) Math.floor(y / tamanoCelda);
+        return f < 0 ? 0 : (f >= filas ? filas - 1 : f);
+    }
+}
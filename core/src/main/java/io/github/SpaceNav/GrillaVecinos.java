@@ -0,0 +1,117 @@
+package io.github.SpaceNav;
+
+import java.util.Arrays;
+
+/**
+ * Grilla uniforme con cupo por celda para buscar las vecinas de cada nave
+ * enemiga al calcular su separación.
+ * <p>
+ * A diferencia de una {@link FaseAmplia}, no tiene que devolver todas las
+ * entidades cercanas: cada celda guarda como mucho {@link #CUPO_CELDA}
+ * entidades, las de menor índice cuyo centro cae en ella, y el resto se
+ * ignora. Una consulta recorre las nueve celdas alrededor de un punto, así que
+ * revisa a lo sumo {@code 9 * CUPO_CELDA} entidades aunque cientos se apilen
+ * en el mismo lugar, y el costo total crece en forma lineal con la cantidad de
+ * entidades. Las que quedan fuera del cupo igual buscan a sus vecinas; solo
+ * dejan de ser vistas por las demás.
+ * </p>
+ * <p>
+ * Cubre el mundo del juego ({@link PantallaJuego#WORLD_WIDTH} x
+ * {@link PantallaJuego#WORLD_HEIGHT}); las entidades que salen de él se asignan
+ * a las celdas del borde. Después de {@link #reconstruir}, varias consultas
+ * pueden ejecutarse a la vez desde distintos hilos.
+ * </p>
+ */
+public class GrillaVecinos {
+
+    /** Cantidad máxima de entidades que guarda cada celda. */
+    public static final int CUPO_CELDA = 8;
+
+    /** Cantidad máxima de índices que deja una consulta. */
+    public static final int MAXIMO_CONSULTA = 9 * CUPO_CELDA;
+
+    /** Tamaño (ancho y alto) de cada celda; una entidad a menos de esta distancia cae en las nueve celdas vecinas. */
+    private final float tamanoCelda;
+
+    /** Cantidad de columnas de la grilla. */
+    private final int columnas;
+
+    /** Cantidad de filas de la grilla. */
+    private final int filas;
+
+    /** Índices guardados: la celda {@code c} ocupa {@code [c * CUPO_CELDA, c * CUPO_CELDA + ocupadas[c])}. */
+    private final int[] indices;
+
+    /** Cantidad de índices guardados en cada celda. */
+    private final int[] ocupadas;
+
+    /**
+     * Crea una grilla que cubre el mundo del juego.
+     *
+     * @param tamanoCelda tamaño de cada celda en unidades del mundo; debe ser
+     *                    al menos la distancia a la que se buscan vecinas
+     */
+    public GrillaVecinos(float tamanoCelda) {
+        this.tamanoCelda = tamanoCelda;
+        this.columnas = (int) Math.ceil(PantallaJuego.WORLD_WIDTH / tamanoCelda);
+        this.filas = (int) Math.ceil(PantallaJuego.WORLD_HEIGHT / tamanoCelda);
+        this.ocupadas = new int[columnas * filas];
+        this.indices = new int[columnas * filas * CUPO_CELDA];
+    }
+
+    /**
+     * Vacía la grilla y vuelve a insertar, por su centro, todas las entidades
+     * de un almacén en orden de índice. Se llama una vez por tick antes de consultar.
+     *
+     * @param x posiciones horizontales de las entidades
+     * @param y posiciones verticales de las entidades
+     * @param tamano ancho y alto de cada entidad
+     * @param cantidad cantidad de entidades válidas en los arreglos
+     */
+    public void reconstruir(float[] x, float[] y, float tamano, int cantidad) {
+        Arrays.fill(ocupadas, 0);
+        float mitad = tamano / 2;
+        for (int i = 0; i < cantidad; i++) {
+            int celda = fila(y[i] + mitad) * columnas + columna(x[i] + mitad);
+            int ocupada = ocupadas[celda];
+            if (ocupada < CUPO_CELDA) {
+                indices[celda * CUPO_CELDA + ocupada] = i;
+                ocupadas[celda] = ocupada + 1;
+            }
+        }
+    }
+
+    /**
+     * Obtiene las entidades guardadas en la celda del punto dado y en las ocho
+     * que la rodean, recorriendo las celdas siempre en el mismo orden.
+     *
+     * @param x posición horizontal del punto, normalmente el centro de una entidad
+     * @param y posición vertical del punto
+     * @param resultado arreglo de al menos {@link #MAXIMO_CONSULTA} posiciones donde se dejan los índices
+     * @return cantidad de índices dejados en el resultado
+     */
+    public int consultar(float x, float y, int[] resultado) {
+        int c = columna(x), f = fila(y);
+        int c0 = Math.max(c - 1, 0), c1 = Math.min(c + 1, columnas - 1);
+        int f0 = Math.max(f - 1, 0), f1 = Math.min(f + 1, filas - 1);
+        int cantidad = 0;
+        for (int fi = f0; fi <= f1; fi++) {
+            for (int ci = c0; ci <= c1; ci++) {
+                int celda = fi * columnas + ci;
+                System.arraycopy(indices, celda * CUPO_CELDA, resultado, cantidad, ocupadas[celda]);
+                cantidad += ocupadas[celda];
+            }
+        }
+        return cantidad;
+    }
+
+    private int columna(float x) {
+        int c = (int) Math.floor(x / tamanoCelda);
+        return c < 0 ? 0 : (c >= columnas ? columnas - 1 : c);
+    }
+
+    private int fila(float y) {
+        int f = (int) Math.floor(y / tamanoCelda);
+        return f < 0 ? 0 : (f >= filas ? filas - 1 : f);
+    }
+}
@@ -0,0 +1,235 @@
+package io.github.SpaceNav;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Copia binaria compacta del estado completo de una {@link Simulacion} en
+ * curso: contadores de la ronda, estado de los generadores de azar, nave del
+ * jugador, enemigos, balas y power-ups. Al restaurarla se obtiene una
+ * simulación que sigue evolucionando exactamente igual que la original.
+ * <p>
+ * Capturar y restaurar solo copian arreglos a un {@link ByteBuffer} que se
+ * reutiliza entre capturas, por lo que con miles de entidades toman bastante
+ * menos de un milisegundo. Sirve para guardar una ronda al pausar y retomarla
+ * al volver a abrir el juego, y para que una {@link Repeticion} empiece a
+ * mitad de una ronda.
+ * </p>
+ * <p>
+ * En memoria el contenido es, con los enteros en big endian:
+ * <pre>
+ * semilla:long ronda:int vidas:int score:int enemigos:int
+ * ticks:long ticksTransicion:int banderas:int azarAparicion:long azarPowerUps:long
+ * nave: x y anteriorX anteriorY xVel yVel:float vidas:int tiempoHerido:int banderas:int
+ * enemigos: n:int x[n] y[n] anteriorX[n] anteriorY[n] xVel[n] yVel[n]:float vidas[n] tiempoHerido[n] banderas[n]:int
+ * balas: n:int x[n] y[n] anteriorX[n] anteriorY[n] xVel[n] yVel[n]:float
+ * powerUps: n:int { x y anteriorX anteriorY:float tipo:byte }*
+ * </pre>
+ * En archivo se antepone {@code "SNST" versión:int bytes:int}, y después del
+ * contenido siguen el texto de la {@link TablaOleadas} de la simulación
+ * ({@code bytes:int} y el texto en UTF-8) y un CRC32 del contenido y la tabla.
+ * En memoria la tabla se guarda como referencia, así que capturar y restaurar
+ * no la copian.
+ * </p>
+ */
+public class Instantanea {
+
+    /** Primeros bytes de todo archivo de instantánea: "SNST". */
+    private static final int MAGICO = 0x534E5354;
+    private static final int VERSION = 3;
+    /** Bytes de las condiciones de la ronda que encabezan el contenido. */
+    static final int BYTES_CABECERA = 8 + 4 * 4;
+
+    /** Contenido entre 0 y el límite; se reutiliza mientras alcance la capacidad. */
+    private ByteBuffer datos = ByteBuffer.allocate(4096);
+
+    /** Tabla de oleadas de la simulación capturada; la restaurada sigue usándola. */
+    private TablaOleadas oleadas;
+
+    /** Crea una instantánea vacía; debe capturarse o leerse antes de restaurarla. */
+    public Instantanea() {
+        datos.limit(0);
+    }
+
+    /**
+     * Crea una copia independiente de otra instantánea.
+     * @param otra instantánea a copiar
+     */
+    public Instantanea(Instantanea otra) {
+        datos = ByteBuffer.allocate(otra.datos.limit());
+        datos.put(otra.datos.duplicate()).flip();
+        oleadas = otra.oleadas;
+    }
+
+    /**
+     * Copia el estado actual de la simulación, reemplazando lo capturado antes.
+     * Solo crea objetos si el estado no entra en la capacidad actual.
+     *
+     * @param sim simulación a copiar; entre dos ticks, nunca durante {@link Simulacion#paso()}
+     */
+    public void capturar(Simulacion sim) {
+        int necesarios = BYTES_CABECERA + sim.bytesEstado();
+        if (datos.capacity() < necesarios) {
+            datos = ByteBuffer.allocate(Math.max(necesarios, datos.capacity() * 2));
+        }
+        datos.clear();
+        datos.putLong(sim.getSemilla());
+        datos.putInt(sim.getRonda());
+        datos.putInt(sim.getNave().getVidas());
+        datos.putInt(sim.getScore());
+        datos.putInt(sim.getCantEnemigos());
+        sim.escribirEstado(datos);
+        datos.flip();
+        oleadas = sim.getOleadas().getTabla();
+    }
+
+    /**
+     * Crea una simulación nueva en el estado capturado, con la tabla de
+     * oleadas que usaba la simulación capturada.
+     *
+     * @param entrada origen de las teclas del jugador
+     * @param oyente receptor de los eventos con sonido
+     * @return simulación lista para avanzar el tick siguiente al capturado
+     */
+    public Simulacion restaurar(FuenteEntrada entrada, OyenteSimulacion oyente) {
+        if (datos.limit() == 0) throw new IllegalStateException("La instantánea está vacía");
+        ByteBuffer lectura = datos.duplicate();
+        Simulacion sim = new Simulacion(lectura.getInt(8), lectura.getInt(12), lectura.getInt(16),
+                lectura.getInt(20), entrada, oyente, lectura.getLong(0));
+        sim.setOleadas(oleadas);
+        lectura.position(BYTES_CABECERA);
+        sim.leerEstado(lectura);
+        return sim;
+    }
+
+    /**
+     * Escribe la instantánea con cabecera, tabla de oleadas y CRC32.
+     *
+     * @param salida destino de los bytes; no se cierra
+     * @throws IOException si falla la escritura
+     */
+    public void escribir(OutputStream salida) throws IOException {
+        DataOutputStream datos = new DataOutputStream(salida);
+        datos.writeInt(MAGICO);
+        datos.writeInt(VERSION);
+        datos.writeInt(this.datos.limit());
+        datos.write(this.datos.array(), 0, this.datos.limit());
+        ByteArrayOutputStream tabla = new ByteArrayOutputStream();
+        oleadas.escribirTexto(new DataOutputStream(tabla));
+        tabla.writeTo(datos);
+        datos.writeInt(calcularCrc(this.datos.array(), this.datos.limit(), tabla.toByteArray()));
+        datos.flush();
+    }
+
+    /**
+     * Lee una instantánea escrita con {@link #escribir(OutputStream)}.
+     *
+     * @param entrada origen de los bytes; no se cierra
+     * @return la instantánea leída
+     * @throws IOException si falla la lectura o los datos no son una instantánea válida
+     */
+    public static Instantanea leer(InputStream entrada) throws IOException {
+        DataInputStream datos = new DataInputStream(entrada);
+        if (datos.readInt() != MAGICO) {
+            throw new IOException("No es un archivo de instantánea");
+        }
+        int version = datos.readInt();
+        if (version != VERSION) {
+            throw new IOException("Versión de instantánea no soportada: " + version);
+        }
+        int bytes = datos.readInt();
+        if (bytes < BYTES_CABECERA) {
+            throw new IOException("Instantánea con tamaño inválido: " + bytes);
+        }
+        Instantanea instantanea = new Instantanea();
+        if (instantanea.datos.capacity() < bytes) {
+            instantanea.datos = ByteBuffer.allocate(bytes);
+        }
+        datos.readFully(instantanea.datos.array(), 0, bytes);
+        int bytesTabla = datos.readInt();
+        if (bytesTabla < 0 || bytesTabla > TablaOleadas.MAXIMO_BYTES_TEXTO) {
+            throw new IOException("Instantánea con tabla de oleadas de tamaño inválido: " + bytesTabla);
+        }
+        byte[] tabla = new byte[4 + bytesTabla];
+        ByteBuffer.wrap(tabla).putInt(bytesTabla);
+        datos.readFully(tabla, 4, bytesTabla);
+        if (datos.readInt() != calcularCrc(instantanea.datos.array(), bytes, tabla)) {
+            throw new IOException("Instantánea dañada");
+        }
+        instantanea.datos.limit(bytes);
+        instantanea.oleadas = TablaOleadas.leerTexto(new DataInputStream(new ByteArrayInputStream(tabla)));
+        return instantanea;
+    }
+
+    private static int calcularCrc(byte[] bytes, int cantidad, byte[] tabla) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, cantidad);
+        crc.update(tabla, 0, tabla.length);
+        return (int)crc.getValue();
+    }
+
+    /** Copia los primeros {@code cantidad} valores de un arreglo al buffer, de una sola vez. */
+    static void escribirFloats(ByteBuffer destino, float[] valores, int cantidad) {
+        destino.asFloatBuffer().put(valores, 0, cantidad);
+        destino.position(destino.position() + cantidad * 4);
+    }
+
+    static void escribirInts(ByteBuffer destino, int[] valores, int cantidad) {
+        destino.asIntBuffer().put(valores, 0, cantidad);
+        destino.position(destino.position() + cantidad * 4);
+    }
+
+    /** Copia {@code cantidad} valores del buffer al principio de un arreglo, de una sola vez. */
+    static void leerFloats(ByteBuffer origen, float[] valores, int cantidad) {
+        origen.asFloatBuffer().get(valores, 0, cantidad);
+        origen.position(origen.position() + cantidad * 4);
+    }
+
+    static void leerInts(ByteBuffer origen, int[] valores, int cantidad) {
+        origen.asIntBuffer().get(valores, 0, cantidad);
+        origen.position(origen.position() + cantidad * 4);
+    }
+
+    /**
+     * Obtiene el tamaño del contenido, sin cabecera de archivo.
+     * @return bytes capturados, o 0 si está vacía
+     */
+    public int getBytes() {
+        return datos.limit();
+    }
+
+    public long getSemilla() {
+        return datos.getLong(0);
+    }
+
+    public int getRonda() {
+        return datos.getInt(8);
+    }
+
+    public int getVidas() {
+        return datos.getInt(12);
+    }
+
+    public int getScore() {
+        return datos.getInt(16);
+    }
+
+    public int getCantEnemigos() {
+        return datos.getInt(20);
+    }
+
+    /**
+     * Obtiene la tabla de oleadas de la simulación capturada.
+     * @return tabla de oleadas, o null si la instantánea está vacía
+     */
+    public TablaOleadas getOleadas() {
+        return oleadas;
+    }
+}
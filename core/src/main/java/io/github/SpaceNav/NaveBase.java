@@ -1,8 +1,9 @@
 package io.github.SpaceNav;
 
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Sprite;
+import java.nio.ByteBuffer;
+
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 
@@ -13,11 +14,31 @@ import com.badlogic.gdx.math.Rectangle;
  * - Vida y daño
  * - Estado de invencibilidad tras recibir daño
  * - Colisiones entre naves
+ * <p>
+ * La nave no guarda recursos gráficos: su estado es solo posición, tamaño,
+ * velocidad y vida, de modo que la simulación puede ejecutarse sin GPU.
+ * La textura se recibe al dibujar.
+ * </p>
  */
 public abstract class NaveBase implements Colisionable, Objetivo {
 	
-	/** Sprite que representa la nave */
-    protected Sprite spr;
+	/** Tamaño (ancho y alto) de todas las naves */
+    public static final float TAMANO = 90;
+
+    /** Bytes que ocupa el estado de una nave en una {@link Instantanea}. */
+    static final int BYTES_ESTADO = 6 * 4 + 3 * 4;
+
+	/** Posición horizontal de la nave */
+    protected float posX;
+
+    /** Posición vertical de la nave */
+    protected float posY;
+
+    /** Ancho de la nave */
+    protected float ancho = TAMANO;
+
+    /** Alto de la nave */
+    protected float alto = TAMANO;
     
     /** Velocidad horizontal de la nave */
     protected float xVel = 0;
@@ -34,57 +55,124 @@ public abstract class NaveBase implements Colisionable, Objetivo {
     /** Indica si la nave ha sido destruida */
     protected boolean destruida = false;
     
-    /** Contador de duración del estado herido */
+    /** Contador de duración del estado herido, en ticks de simulación */
     protected int tiempoHerido;
     
-    /** Duración máxima del estado herido por defecto */
+    /** Duración máxima del estado herido por defecto, en ticks de simulación */
     protected int tiempoHeridoMax = 50; 
 
+    /** Posición horizontal al inicio del último tick, usada para interpolar el dibujo */
+    protected float anteriorX;
+
+    /** Posición vertical al inicio del último tick, usada para interpolar el dibujo */
+    protected float anteriorY;
+
+    /** Área de colisión en caché; solo se recalcula cuando la nave se mueve */
+    private final Rectangle area = new Rectangle();
+
+    /** Indica si la posición cambió desde el último cálculo de {@link #area} */
+    private boolean areaSucia = true;
+
     /**
      * Constructor de la nave.
-     * Inicializa el sprite, la posición y la cantidad de vidas.
+     * Inicializa la posición y la cantidad de vidas.
+     *
+     * @param x Posición horizontal inicial
+     * @param y Posición vertical inicial
+     * @param vidas Cantidad de vidas iniciales
+     */
+    public NaveBase(float x, float y, int vidas) {
+        this.vidas = vidas;
+        this.posX = x;
+        this.posY = y;
+        anteriorX = x;
+        anteriorY = y;
+    }
+
+    /**
+     * Constructor para naves reutilizables (por ejemplo, administradas por un pool).
+     * La nave se configura luego con {@link #reiniciar}.
+     */
+    protected NaveBase() {
+    }
+
+    /**
+     * Devuelve la nave a su estado inicial.
      *
-     * @param tx Textura de la nave
      * @param x Posición horizontal inicial
      * @param y Posición vertical inicial
      * @param vidas Cantidad de vidas iniciales
      */
-    public NaveBase(Texture tx, float x, float y, int vidas) {
+    protected void reiniciar(float x, float y, int vidas) {
+        this.posX = x;
+        this.posY = y;
+        anteriorX = x;
+        anteriorY = y;
         this.vidas = vidas;
-        spr = new Sprite(tx);
-        spr.setBounds(x, y, 90, 90); 
+        this.xVel = 0;
+        this.yVel = 0;
+        this.herido = false;
+        this.destruida = false;
+        this.tiempoHerido = 0;
+        this.areaSucia = true;
     }
 
     /**
-     * Actualiza la lógica de la nave en cada frame.
+     * Actualiza la lógica de la nave en cada tick de simulación.
      * Método abstracto que debe implementarse en las subclases.
      *
-     * @param juego Instancia de {@link PantallaJuego} para acceder al estado del juego
+     * @param sim {@link Simulacion} para acceder al estado del juego
      */
-    public abstract void update(PantallaJuego juego);
+    public abstract void update(Simulacion sim);
 
     /**
-     * Dibuja la nave en pantalla.
+     * Dibuja la nave en pantalla, interpolando entre la posición del tick
+     * anterior y la actual para que el movimiento sea suave a cualquier tasa de refresco.
      * Aplica un efecto de "parpadeo" cuando la nave está herida.
      *
      * @param batch SpriteBatch usado para el renderizado
+     * @param tx Región del atlas con la imagen de la nave
+     * @param alfa Fracción de tick transcurrida desde la última actualización (0 a 1)
      */
-    public void draw(SpriteBatch batch) {
-        if (herido && !destruida) {
-            float xOriginal = spr.getX();
-            spr.setX(spr.getX() + MathUtils.random(-2, 2));
-            spr.draw(batch);
-            spr.setX(xOriginal); 
-        } else if (!destruida) { 
-            spr.draw(batch);
+    public void draw(SpriteBatch batch, TextureRegion tx, float alfa) {
+        if (destruida) return;
+
+        float x = anteriorX + (posX - anteriorX) * alfa;
+        float y = anteriorY + (posY - anteriorY) * alfa;
+        if (herido) {
+            x += MathUtils.random(-2, 2);
         }
+        batch.draw(tx, x, y, ancho, alto);
     }
 
     /**
-     * Aplica la velocidad actual al sprite para mover la nave.
+     * Guarda la posición actual como punto de partida de la interpolación.
+     * Las subclases la llaman al comenzar cada tick.
+     */
+    protected void guardarPosicionAnterior() {
+        anteriorX = posX;
+        anteriorY = posY;
+    }
+
+    /**
+     * Aplica la velocidad actual (en unidades por tick) para mover la nave.
      */
     protected void mover() {
-        spr.setPosition(spr.getX() + xVel, spr.getY() + yVel);
+        if (xVel != 0 || yVel != 0) {
+            setPosicion(posX + xVel, posY + yVel);
+        }
+    }
+
+    /**
+     * Ubica la nave en una nueva posición e invalida el área de colisión en caché.
+     *
+     * @param x Nueva posición horizontal
+     * @param y Nueva posición vertical
+     */
+    protected void setPosicion(float x, float y) {
+        posX = x;
+        posY = y;
+        areaSucia = true;
     }
     
     /**
@@ -119,11 +207,16 @@ public abstract class NaveBase implements Colisionable, Objetivo {
     
     /**
      * Obtiene el área de colisión de la nave.
+     * El rectángulo se reutiliza y solo se actualiza si la nave se movió.
      * @return Un {@link Rectangle} que representa la zona de colisión
      */
     @Override
     public Rectangle getArea() {
-        return spr.getBoundingRectangle();
+        if (areaSucia) {
+            area.set(posX, posY, ancho, alto);
+            areaSucia = false;
+        }
+        return area;
     }
     
     /**
@@ -137,7 +230,8 @@ public abstract class NaveBase implements Colisionable, Objetivo {
             if (this == otro) {
                 return false;
             }
-            return this.getArea().overlaps(otro.getArea());
+            Rectangle a = this.getArea();
+            return otro.overlaps(a.x, a.y, a.width, a.height);
         }
         return false;
     }
@@ -165,11 +259,74 @@ public abstract class NaveBase implements Colisionable, Objetivo {
         }
     }
 
+    /**
+     * Aplica el mismo rebote que {@link #alColisionar(Colisionable)} contra una
+     * nave enemiga guardada en un {@link AlmacenEnemigos}.
+     *
+     * @param enemigos Almacén de la otra nave
+     * @param i Índice de la otra nave en el almacén
+     */
+    public void rebotarCon(AlmacenEnemigos enemigos, int i) {
+        float[] otraXVel = enemigos.xVel;
+        float[] otraYVel = enemigos.yVel;
+
+        if (xVel == 0) xVel += otraXVel[i] / 2;
+        if (otraXVel[i] == 0) otraXVel[i] += xVel;
+        xVel = -xVel;
+        otraXVel[i] = -otraXVel[i];
+
+        if (yVel == 0) yVel += otraYVel[i] / 2;
+        if (otraYVel[i] == 0) otraYVel[i] += yVel;
+        yVel = -yVel;
+        otraYVel[i] = -otraYVel[i];
+    }
+
+    /**
+     * Escribe posición, posición anterior, velocidad, vidas y estado de herida.
+     * @param destino buffer con al menos {@link #BYTES_ESTADO} bytes libres
+     */
+    void escribirEstado(ByteBuffer destino) {
+        destino.putFloat(posX);
+        destino.putFloat(posY);
+        destino.putFloat(anteriorX);
+        destino.putFloat(anteriorY);
+        destino.putFloat(xVel);
+        destino.putFloat(yVel);
+        destino.putInt(vidas);
+        destino.putInt(tiempoHerido);
+        destino.putInt((herido ? 1 : 0) | (destruida ? 2 : 0));
+    }
+
+    /**
+     * Restaura el estado escrito con {@link #escribirEstado(ByteBuffer)}.
+     * @param origen buffer posicionado al comienzo del estado de la nave
+     */
+    void leerEstado(ByteBuffer origen) {
+        setPosicion(origen.getFloat(), origen.getFloat());
+        anteriorX = origen.getFloat();
+        anteriorY = origen.getFloat();
+        xVel = origen.getFloat();
+        yVel = origen.getFloat();
+        vidas = origen.getInt();
+        tiempoHerido = origen.getInt();
+        int banderas = origen.getInt();
+        herido = (banderas & 1) != 0;
+        destruida = (banderas & 2) != 0;
+    }
+
+    /**
+     * Marca la nave como destruida sin aplicar daño, por ejemplo cuando
+     * una nave enemiga desaparece al chocar con el jugador.
+     */
+    public void destruir() {
+        this.destruida = true;
+    }
+
     /**
      * Activa el estado de invencibilidad (herido) por una duración específica.
      * Usado, por ejemplo, por el Power-Up de Escudo.
      *
-     * @param duracion Número de frames que durará la invencibilidad
+     * @param duracion Número de ticks de simulación que durará la invencibilidad
      */
     public void activarInvencibilidad(int duracion) {
         this.herido = true;
@@ -212,18 +369,18 @@ public abstract class NaveBase implements Colisionable, Objetivo {
 
     /**
      * Obtiene la posición horizontal de la nave.
-     * @return Coordenada X del sprite
+     * @return Coordenada X de la nave
      */
     public float getX() {
-        return spr.getX();
+        return posX;
     }
 
     /**
      * Obtiene la posición vertical de la nave.
-     * @return Coordenada Y del sprite
+     * @return Coordenada Y de la nave
      */
     public float getY() {
-        return spr.getY();
+        return posY;
     }
     
     /**
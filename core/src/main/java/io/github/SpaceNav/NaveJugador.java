@@ -1,117 +1,104 @@
 package io.github.SpaceNav;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
-
 /**
  * Clase que representa la nave controlada por el jugador.
- * Hereda de {@link NaveBase} y gestiona el input del teclado para moverse y disparar.
- * Además maneja efectos de sonido al recibir daño, disparar o recolectar power-ups.
+ * Hereda de {@link NaveBase} y obedece a una {@link FuenteEntrada} (normalmente
+ * el teclado) para moverse y disparar.
+ * Los eventos de recibir daño, disparar o recolectar power-ups se informan a un
+ * {@link OyenteSimulacion}, que decide qué sonido reproducir.
  */
 public class NaveJugador extends NaveBase {
 
-	/** Sonido reproducido al recibir daño */
-    private Sound sonidoHerido;
-    
-    /** Sonido reproducido al disparar una bala */
-    private Sound soundBala;
-    
-    /** Textura utilizada para las balas disparadas */
-    private Texture txBala;
-    
-    /** Textura utilizada para las balas disparadas */
-    private Sound soundPowerUp;
+	/** Origen de las teclas presionadas en cada tick */
+    private FuenteEntrada entrada;
+
+    /** Receptor de los eventos de la nave (disparo, daño, power-ups) */
+    private OyenteSimulacion oyente;
 
     /**
      * Constructor de la nave del jugador.
-     * Inicializa la textura, posición, vidas y los sonidos.
+     * Inicializa la posición, las vidas, la entrada y el receptor de eventos.
      *
      * @param x Posición horizontal inicial
      * @param y Posición vertical inicial
-     * @param tx Textura de la nave
-     * @param txBala Textura de las balas disparadas
+     * @param entrada Origen de las teclas presionadas
+     * @param oyente Receptor de los eventos de la nave
      */
-    public NaveJugador(float x, float y, Texture tx, Texture txBala) {
-        super(tx, x, y, 3); 
-        this.txBala = txBala;
-        this.sonidoHerido = Gdx.audio.newSound(Gdx.files.internal("hit.mp3"));
-        this.soundBala = Gdx.audio.newSound(Gdx.files.internal("shoot.mp3"));
-        this.soundPowerUp = Gdx.audio.newSound(Gdx.files.internal("powerup.mp3"));
+    public NaveJugador(float x, float y, FuenteEntrada entrada, OyenteSimulacion oyente) {
+        super(x, y, 3); 
+        this.entrada = entrada;
+        this.oyente = oyente;
     }
 
     /**
-     * Actualiza la lógica de la nave del jugador en cada frame.
+     * Actualiza la lógica de la nave del jugador en cada tick de simulación.
      * - Gestiona el estado de herido/invencibilidad
-     * - Procesa input de teclado para moverse y disparar
+     * - Procesa la entrada para moverse y disparar
      * - Mantiene la nave dentro de los límites de la pantalla
      *
-     * @param juego Instancia de {@link PantallaJuego} para agregar balas y acceder al estado del juego
+     * @param sim {@link Simulacion} para agregar balas y acceder al estado del juego
      */
     @Override
-    public void update(PantallaJuego juego) {
+    public void update(Simulacion sim) {
+        guardarPosicionAnterior();
         actualizarEstadoHerido();
 
+        int teclas = entrada.leerTeclas(sim);
         if (!herido) {
             // Lógica de input
-            if (Gdx.input.isKeyJustPressed(Input.Keys.LEFT)) xVel -= 3;
-            if (Gdx.input.isKeyJustPressed(Input.Keys.RIGHT)) xVel += 3;
-            if (Gdx.input.isKeyJustPressed(Input.Keys.DOWN)) yVel -= 3;
-            if (Gdx.input.isKeyJustPressed(Input.Keys.UP)) yVel += 3;
+            if ((teclas & FuenteEntrada.IZQUIERDA) != 0) xVel -= 3;
+            if ((teclas & FuenteEntrada.DERECHA) != 0) xVel += 3;
+            if ((teclas & FuenteEntrada.ABAJO) != 0) yVel -= 3;
+            if ((teclas & FuenteEntrada.ARRIBA) != 0) yVel += 3;
         
             // Disparo
-            if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
-                Bullet bala = new Bullet(spr.getX() + spr.getWidth() - 5, spr.getY() + spr.getHeight() / 2 - 5, 3, 0, txBala);
-                juego.agregarBala(bala);
-                soundBala.play();
+            if ((teclas & FuenteEntrada.DISPARO) != 0) {
+                sim.getBalas().agregar(posX + ancho - 5, posY + alto / 2 - 5, 3, 0);
+                oyente.alDisparar();
             }
         }
         
         // Límites de pantalla
-        float x = spr.getX();
-        float y = spr.getY();
+        float x = posX;
+        float y = posY;
         
-        if (y + yVel < 0 || y + yVel + spr.getHeight() > PantallaJuego.WORLD_HEIGHT) {
+        if (y + yVel < 0 || y + yVel + alto > PantallaJuego.WORLD_HEIGHT) {
             yVel = 0;
         }
         
         if (x + xVel < 0) {
             xVel = 0;
-            spr.setX(0);
+            setPosicion(0, y);
         }
-        if (x + xVel + spr.getWidth() > PantallaJuego.WORLD_WIDTH) {
+        if (x + xVel + ancho > PantallaJuego.WORLD_WIDTH) {
             xVel = 0;
-            spr.setX(PantallaJuego.WORLD_WIDTH - spr.getWidth());
+            setPosicion(PantallaJuego.WORLD_WIDTH - ancho, y);
         }
 
         mover();
     }
     
     /**
-     * Maneja la colisión con otro objeto {@link Colisionable}.
-     * Llama al rebote de {@link NaveBase} y aplica daño si colisiona con una nave enemiga.
+     * Maneja el choque con una nave enemiga del {@link AlmacenEnemigos}:
+     * rebota como en {@link NaveBase#alColisionar(Colisionable)} y recibe daño.
      *
-     * @param otro Objeto colisionable que colisiona con la nave
+     * @param enemigos Almacén de la nave enemiga
+     * @param i Índice de la nave enemiga en el almacén
      */
-    @Override
-    public void alColisionar(Colisionable otro) {
-        super.alColisionar(otro); // Llama al rebote de NaveBase
-        
-        if (otro instanceof NaveEnemiga) {
-            this.recibirDano(1); 
-        }
+    public void chocarConEnemigo(AlmacenEnemigos enemigos, int i) {
+        rebotarCon(enemigos, i);
+        this.recibirDano(1); 
     }
 
     /**
-     * Aplica daño a la nave, reproduciendo el sonido correspondiente.
+     * Aplica daño a la nave, avisando al oyente para reproducir el sonido correspondiente.
      * @param dano Cantidad de daño a recibir
      */
     @Override
     public void recibirDano(int dano) {
         if (!herido) {
             super.recibirDano(dano); 
-            sonidoHerido.play();
+            oyente.alRecibirDano();
         }
     }
 
@@ -123,23 +110,14 @@ public class NaveJugador extends NaveBase {
      * @param tipo El {@link TipoPowerUp} que se recogió
      */
     public void recibirPowerUp(TipoPowerUp tipo) {
-    	soundPowerUp.play(0.8f);
+    	oyente.alRecogerPowerUp(tipo);
         switch (tipo) {
             case VIDA:
                 this.setVidas(this.getVidas() + 1);
                 break;
             case ESCUDO:
-                this.activarInvencibilidad(180); // 3 segundos
+                this.activarInvencibilidad(3 * Simulacion.TICKS_POR_SEGUNDO); // 3 segundos
                 break;
         }
     }
-    
-    /**
-     * Libera los recursos de sonido utilizados por la nave.
-     */
-    public void dispose() {
-        sonidoHerido.dispose();
-        soundBala.dispose();
-        soundPowerUp.dispose();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package io.github.SpaceNav;
+
+/**
+ * Recibe los eventos de la {@link Simulacion} que tienen una consecuencia
+ * fuera de ella, como reproducir un sonido.
+ * <p>
+ * La simulación no conoce el audio ni los gráficos; {@link PantallaJuego}
+ * implementa esta interfaz para reproducir los efectos de sonido, mientras
+ * que una ejecución sin ventana puede ignorar los eventos.
+ * Todos los métodos tienen una implementación vacía por defecto.
+ * </p>
+ */
+public interface OyenteSimulacion {
+
+    /**
+     * El jugador disparó una bala.
+     */
+    default void alDisparar() { }
+
+    /**
+     * El jugador recibió daño.
+     */
+    default void alRecibirDano() { }
+
+    /**
+     * El jugador recogió un power-up.
+     * @param tipo tipo del power-up recogido
+     */
+    default void alRecogerPowerUp(TipoPowerUp tipo) { }
+
+    /**
+     * Una bala destruyó a una nave enemiga.
+     * @param x posición horizontal de la nave destruida
+     * @param y posición vertical de la nave destruida
+     */
+    default void alDestruirEnemigo(float x, float y) { }
+}
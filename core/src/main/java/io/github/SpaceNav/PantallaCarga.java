@@ -0,0 +1,115 @@
+package io.github.SpaceNav;
+
+import java.util.function.Supplier;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+/**
+ * Pantalla de carga con barra de progreso.
+ * <p>
+ * Espera a que el {@link GestorRecursos} termine de cargar los recursos que
+ * necesita la pantalla siguiente y entonces la muestra. La carga en sí la
+ * avanza {@link SpaceNavigation#render()} en cada frame, por lo que esta
+ * pantalla solo dibuja el progreso.
+ * </p>
+ */
+public class PantallaCarga implements Screen {
+
+	/** Referencia al juego principal. */
+    private SpaceNavigation game;
+
+    /** Cámara utilizada para renderizar la escena. */
+    private OrthographicCamera camera;
+
+    /** Dibuja la barra de progreso. */
+    private ShapeRenderer formas;
+
+    /** Recursos que deben estar cargados antes de continuar. */
+    private String[] requeridos;
+
+    /** Crea la pantalla que se muestra al terminar la carga. */
+    private Supplier<Screen> siguiente;
+
+    /**
+     * Crea una pantalla de carga.
+     *
+     * @param game instancia principal del juego {@link SpaceNavigation}.
+     * @param requeridos rutas de los recursos que necesita la pantalla siguiente.
+     * @param siguiente crea la pantalla a mostrar cuando los recursos estén listos.
+     */
+	public PantallaCarga(SpaceNavigation game, String[] requeridos, Supplier<Screen> siguiente) {
+		this.game = game;
+		this.requeridos = requeridos;
+		this.siguiente = siguiente;
+
+		camera = new OrthographicCamera();
+		camera.setToOrtho(false, PantallaJuego.WORLD_WIDTH, PantallaJuego.WORLD_HEIGHT);
+		formas = new ShapeRenderer();
+	}
+
+	/**
+     * Dibuja la barra de progreso y pasa a la pantalla siguiente cuando
+     * sus recursos están cargados.
+     *
+     * @param delta tiempo transcurrido desde el último frame, en segundos.
+     */
+	@Override
+	public void render(float delta) {
+		if (game.getRecursos().estanCargados(requeridos)) {
+			Screen ss = siguiente.get();
+			ss.resize((int)PantallaJuego.WORLD_WIDTH, (int)PantallaJuego.WORLD_HEIGHT);
+			game.setScreen(ss);
+			dispose();
+			return;
+		}
+
+		ScreenUtils.clear(0, 0, 0.2f, 1);
+		camera.update();
+
+		float ancho = PantallaJuego.WORLD_WIDTH - 200;
+		float progreso = game.getRecursos().getProgreso();
+		formas.setProjectionMatrix(camera.combined);
+		formas.begin(ShapeRenderer.ShapeType.Filled);
+		formas.setColor(0.3f, 0.3f, 0.4f, 1);
+		formas.rect(100, 200, ancho, 30);
+		formas.setColor(1, 0.8f, 0.3f, 1);
+		formas.rect(100, 200, ancho * progreso, 30);
+		formas.end();
+
+		game.getBatch().setProjectionMatrix(camera.combined);
+		game.getBatch().begin();
+		game.getFont().draw(game.getBatch(), "Cargando... " + (int)(progreso * 100) + "%", 100, 280);
+		game.getBatch().end();
+	}
+
+	@Override
+	public void show() {
+	}
+
+	@Override
+	public void resize(int width, int height) {
+	}
+
+	@Override
+	public void pause() {
+	}
+
+	@Override
+	public void resume() {
+	}
+
+	@Override
+	public void hide() {
+	}
+
+	/**
+     * Libera el dibujante de la barra de progreso.
+     */
+	@Override
+	public void dispose() {
+		formas.dispose();
+	}
+}
@@ -1,17 +1,21 @@
 package io.github.SpaceNav;
 
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture; // <-- Importar Texture
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.utils.ScreenUtils;
 
 /**
  * Pantalla que se muestra cuando el jugador pierde el juego.
- * Muestra un fondo de "Game Over", reproduce música y permite reiniciar el juego
- * al tocar la pantalla o presionar cualquier tecla.
+ * Muestra un fondo de "Game Over" y la tabla de mejores puntajes, reproduce música
+ * y permite reiniciar el juego al tocar la pantalla o presionar cualquier tecla.
  */
 public class PantallaGameOver implements Screen {
 
@@ -24,26 +28,34 @@ public class PantallaGameOver implements Screen {
 	/** Textura de fondo de la pantalla de Game Over */
     private Texture backgroundTexture;
 
-    /** Música reproducida en la pantalla de Game Over */
-    private Music gameOverMusic;
+    /** Escala de la fuente con que se dibuja la tabla de puntajes */
+    private static final float ESCALA_TABLA = 1.2f;
+
+    /** Esquina superior izquierda de la tabla de puntajes, a la derecha del mensaje de Game Over */
+    private static final float TABLA_X = 440;
+    private static final float TABLA_Y = 600;
+
+    /** Filas de la tabla de puntajes, armadas y medidas una sola vez al crear la pantalla */
+    private final GlyphLayout layoutTabla = new GlyphLayout();
 
     /**
      * Constructor de la pantalla de Game Over.
-     * Inicializa cámara, textura de fondo y música.
+     * Inicializa cámara, textura de fondo y el texto de la tabla de puntajes.
      *
      * @param game Instancia del juego principal
+     * @param posicion Posición de la partida recién terminada en la tabla, o -1 si no entró
      */
-	public PantallaGameOver(SpaceNavigation game) {
+	public PantallaGameOver(SpaceNavigation game, int posicion) {
 		this.game = game;
+		BitmapFont font = game.getFont();
+		float escala = font.getData().scaleX;
+		font.getData().setScale(ESCALA_TABLA);
+		layoutTabla.setText(font, armarTabla(game.getPuntajes(), posicion));
+		font.getData().setScale(escala);
         
 		camera = new OrthographicCamera();
 		camera.setToOrtho(false, PantallaJuego.WORLD_WIDTH, PantallaJuego.WORLD_HEIGHT); // Usar dimensiones del juego
-        backgroundTexture = new Texture(Gdx.files.internal("gameOver.png"));
-        
-        gameOverMusic = Gdx.audio.newMusic(Gdx.files.internal("gameOver.mp3")); 
-        gameOverMusic.setLooping(false);
-        gameOverMusic.setVolume(0.6f);
-        gameOverMusic.play();
+        backgroundTexture = game.getRecursos().obtener(GestorRecursos.FONDO_GAME_OVER, Texture.class);
 	}
 
 	/**
@@ -66,6 +78,11 @@ public class PantallaGameOver implements Screen {
         
 		game.getFont().draw(game.getBatch(), "Game Over !!! ", 120, 400,400,1,true);
 		game.getFont().draw(game.getBatch(), "Pincha en cualquier lado para reiniciar ...", 100, 300);
+
+		// Los glifos se dibujan con la escala que tenía la fuente al medir la tabla
+		game.getFont().getData().setScale(ESCALA_TABLA);
+		game.getFont().draw(game.getBatch(), layoutTabla, TABLA_X, TABLA_Y);
+		game.getFont().getData().setScale(2f);
 	
 		game.getBatch().end();
 
@@ -77,13 +94,31 @@ public class PantallaGameOver implements Screen {
 		}
 	}
  
+	/**
+	 * Arma el texto de la tabla de puntajes, una fila por línea, marcando la partida recién terminada.
+	 *
+	 * @param puntajes tabla de mejores puntajes
+	 * @param posicion posición a marcar, o -1
+	 * @return texto listo para dibujar
+	 */
+	private static String armarTabla(TablaPuntajes puntajes, int posicion) {
+		SimpleDateFormat formato = new SimpleDateFormat("dd/MM/yy");
+		StringBuilder texto = new StringBuilder("Mejores puntajes\n");
+		for (int i = 0; i < puntajes.getCantidad(); i++) {
+			texto.append(i == posicion ? "> " : "   ").append(i + 1).append(". ")
+					.append(puntajes.getPuntaje(i)).append("  ronda ").append(puntajes.getRonda(i))
+					.append("  ").append(formato.format(new Date(puntajes.getFecha(i)))).append('\n');
+		}
+		return texto.toString();
+	}
+
 	/**
 	 * Se ejecuta cuando la pantalla se establece como activa.
 	 * En esta implementación no realiza acciones adicionales.
 	 */
 	@Override
 	public void show() {
-		
+		game.getMusica().reproducir(GestorRecursos.MUSICA_GAME_OVER, 0.6f, false);
 	}
 
 	/**
@@ -100,20 +135,19 @@ public class PantallaGameOver implements Screen {
 
 	/**
 	 * Se ejecuta cuando el juego se pausa.
-	 * Pausa la música de Game Over.
+	 * La música la pausa {@link SpaceNavigation}.
 	 */
 	@Override
 	public void pause() {
-		gameOverMusic.pause();
+		
 	}
 
 	/**
 	 * Se ejecuta cuando el juego se reanuda.
-	 * Reproduce la música de Game Over.
 	 */
 	@Override
 	public void resume() {
-		gameOverMusic.play();
+		
 	}
 
 	/**
@@ -126,12 +160,11 @@ public class PantallaGameOver implements Screen {
 	}
 
 	/**
-     * Libera los recursos utilizados por la pantalla (textura y música).
+     * Libera los recursos utilizados por la pantalla (textura).
      */
 	@Override
 	public void dispose() {
-		backgroundTexture.dispose();
-        gameOverMusic.dispose();
+		game.getRecursos().liberar(GestorRecursos.FONDO_GAME_OVER);
 	}
    
 }
\ No newline at end of file
@@ -1,75 +1,142 @@
 package io.github.SpaceNav;
 
-import java.util.ArrayList;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.TimeUtils;
 
 /**
- * Pantalla principal del juego. Se encarga de la lógica general,
- * incluyendo renderizado, control de entidades, detección de colisiones,
- * administración de rondas y actualización del estado del juego.
+ * Pantalla principal del juego. Se encarga de dibujar una {@link Simulacion},
+ * reproducir sus efectos de sonido y controlar el paso entre rondas.
  *
- * <p>Esta clase implementa {@link Screen} y funciona como el núcleo
- * donde se combinan los diferentes sistemas del juego, como el
- * {@link GestorColisiones} y el {@link GestorRondas}.</p>
+ * <p>Esta clase implementa {@link Screen}; la lógica de la ronda (entidades,
+ * {@link GestorColisiones} y {@link GestorRondas}) vive en {@link Simulacion},
+ * que no depende de gráficos ni de audio. Pantalla y simulación se conservan
+ * durante todas las rondas de la partida. La pantalla actúa como
+ * {@link OyenteSimulacion} y reproduce los sonidos una vez por frame con un
+ * {@link DespachadorSonidos}.</p>
  */
-public class PantallaJuego implements Screen {
+public class PantallaJuego implements Screen, OyenteSimulacion {
 
 	/** Ancho del mundo del juego. */
     public static final float WORLD_WIDTH = 800;
     /** Alto del mundo del juego. */
     public static final float WORLD_HEIGHT = 640;
 
+    /**
+     * Tiempo máximo que se simula por frame dibujado. Si un frame tarda más
+     * (por ejemplo, al arrastrar la ventana) el juego se ralentiza en lugar
+     * de encadenar cada vez más ticks.
+     */
+    private static final float MAX_DELTA = 0.25f;
+
+    /** Frames recientes que se muestran en el histograma del perfilador. */
+    private static final int FRAMES_HISTOGRAMA = 120;
+    /** Altura en pixeles de cada milisegundo en el histograma del perfilador. */
+    private static final float PIXELES_POR_MS = 2f;
+    /** Duración de un frame a 60 frames por segundo, en milisegundos. */
+    private static final float MS_OBJETIVO = 1000f / 60;
+
+    /** Archivo, en {@link SpaceNavigation#CARPETA_DATOS}, donde se guarda la repetición de la última partida. */
+    public static final String ARCHIVO_REPETICION = "ultima-partida.rep";
+
+    /** Archivo, en {@link SpaceNavigation#CARPETA_DATOS}, con la ronda en curso guardada al pausar. */
+    public static final String ARCHIVO_PARTIDA = "partida-en-curso.snap";
+
+    /** Fases del perfilador y sus nombres, calculados una sola vez para no crear objetos al dibujar. */
+    private static final Perfilador.Fase[] FASES = Perfilador.Fase.values();
+    private static final String[] NOMBRES_FASES = new String[FASES.length];
+    static {
+        for (int f = 0; f < FASES.length; f++) {
+            NOMBRES_FASES[f] = FASES[f].name().toLowerCase() + ": ";
+        }
+    }
+
     private SpaceNavigation game;
     private OrthographicCamera camera;	
     private SpriteBatch batch;
-    private Sound explosionSound;
-    private Music gameMusic;
-    private int score;
-    private int ronda;
-    private int cantEnemigos;
-
-    // Entidades del juego
-    private NaveJugador nave;
-    private ArrayList<NaveEnemiga> enemigos = new ArrayList<>();
-    private ArrayList<Bullet> balas = new ArrayList<>();
-    /** Lista de power-ups activos en pantalla. */
-    private ArrayList<PowerUp> powerUps = new ArrayList<>();
-    /** Generador de números aleatorios para el drop de power-ups. */
-    private Random random = new Random();
-
-    // Texturas
-    private Texture texturaNaveJugador;
-    private Texture texturaNaveEnemiga;
-    private Texture texturaBalaJugador;
+    /** Reproduce al final de cada frame los efectos de sonido pedidos por la simulación. */
+    private final DespachadorSonidos sonidos = new DespachadorSonidos();
+    // Identificadores de los efectos registrados en el despachador
+    private int sonidoExplosion;
+    private int sonidoHerido;
+    private int sonidoDisparo;
+    private int sonidoPowerUp;
+
+    /** Estado de la ronda en curso. */
+    private Simulacion sim;
+    /** Dibuja enemigos y balas directamente desde sus arreglos. */
+    private SistemaDibujo sistemaDibujo = new SistemaDibujo();
+    /** Teclado del jugador, leído una vez por frame. */
+    private EntradaJugador entrada = new EntradaJugador();
+    /** Grabación de la partida en curso; pasa de una ronda a la siguiente. */
+    private Repeticion repeticion;
+
+    // Texturas: el fondo va aparte y todos los sprites salen de un mismo atlas,
+    // así el SpriteBatch no tiene que vaciarse al alternar entre entidades
     private Texture texturaFondo;
-    /** Textura para el power-up de vida. */
-    private Texture texturaVida;
-    /** Textura para el power-up de escudo. */
-    private Texture texturaEscudo;
-
-    // Variables para spawn gradual
-    private int enemigosMaxNivel;
-    private int enemigosCreados;
-    private float tiempoSpawn = 0f;
-    private float intervaloSpawn = 1f; // segundos entre cada enemigo
-    private GestorColisiones gestorColisiones;
-    private GestorRondas gestorRondas;
-    private boolean rondaCompletada = false;
-    private float tiempoTransicion = 0f;
-    private boolean mostrandoTransicion = false;
+    /** Atlas generado por la tarea {@code packTextures} a partir de {@code raw/sprites}. */
+    private TextureAtlas atlas;
+    private TextureRegion regionNaveJugador;
+    private TextureRegion regionNaveEnemiga;
+    private TextureRegion regionBalaJugador;
+    /** Región para el power-up de vida. */
+    private TextureRegion regionVida;
+    /** Región para el power-up de escudo. */
+    private TextureRegion regionEscudo;
+
+    /** Llamadas de dibujo a la GPU del último frame completo. */
+    private int llamadasDibujo;
+
+    /** Perfilador del juego, compartido entre rondas. */
+    private Perfilador perfilador;
+    /** Dibuja el histograma del perfilador; se crea la primera vez que se muestra. */
+    private ShapeRenderer formas;
+
+    // Textos del HUD: cada uno se reconstruye, junto con su GlyphLayout, solo
+    // cuando cambia el valor que muestra, así dibujarlos no crea objetos
+    private final StringBuilder textoVidasRonda = new StringBuilder();
+    private final StringBuilder textoScore = new StringBuilder();
+    private final StringBuilder textoHighScore = new StringBuilder();
+    private final StringBuilder textoRonda = new StringBuilder();
+    /** Texto del perfilador; cambia en cada frame pero reutiliza el mismo buffer. */
+    private final StringBuilder textoPerfil = new StringBuilder();
+    private final GlyphLayout layoutVidasRonda = new GlyphLayout();
+    private final GlyphLayout layoutScore = new GlyphLayout();
+    private final GlyphLayout layoutHighScore = new GlyphLayout();
+    private final GlyphLayout layoutRonda = new GlyphLayout();
+    private final GlyphLayout layoutPerfil = new GlyphLayout();
+    // Valores mostrados actualmente; -1 obliga a construir el texto en el primer frame
+    private int vidasMostradas = -1;
+    private int rondaMostrada = -1;
+    private int scoreMostrado = -1;
+    private int highScoreMostrado = -1;
+    private int rondaSiguienteMostrada = -1;
+
+    /** Tiempo real acumulado que aún no se ha simulado, en segundos. */
+    private float acumulador = 0f;
 
     /**
      * Constructor principal. Inicializa los recursos y entidades necesarias
-     * para comenzar la ronda.
+     * para comenzar la ronda y empieza a grabar una partida nueva, con una
+     * semilla al azar, en una {@link Repeticion}.
      *
      * @param game referencia al juego principal.
      * @param ronda número actual de la ronda.
@@ -78,209 +145,415 @@ public class PantallaJuego implements Screen {
      * @param cantEnemigos cantidad de enemigos que aparecerán en la ronda.
      */
     public PantallaJuego(SpaceNavigation game, int ronda, int vidas, int score, int cantEnemigos) {
+        this(game, new Repeticion(new Random().nextLong(), ronda, vidas, score, cantEnemigos, game.getOleadas()));
+    }
+
+    /**
+     * Retoma una partida guardada a mitad de una ronda. La grabación de la
+     * partida empieza desde ese estado.
+     *
+     * @param game referencia al juego principal.
+     * @param partida estado de la ronda guardado al pausar.
+     */
+    public PantallaJuego(SpaceNavigation game, Instantanea partida) {
+        this(game, new Repeticion(partida));
+    }
+
+    /**
+     * Crea la pantalla de una partida, que se conserva en todas sus rondas, y
+     * empieza a grabarla.
+     *
+     * @param game referencia al juego principal.
+     * @param repeticion grabación de la partida, con sus condiciones iniciales.
+     */
+    private PantallaJuego(SpaceNavigation game, Repeticion repeticion) {
         this.game = game;
-        this.ronda = ronda;
-        this.score = score;
-        this.cantEnemigos = cantEnemigos;
-        this.enemigosMaxNivel = cantEnemigos;
-        this.enemigosCreados = 0;
+        this.repeticion = repeticion;
 
         batch = game.getBatch();
         camera = new OrthographicCamera();	
         camera.setToOrtho(false, WORLD_WIDTH, WORLD_HEIGHT);
-        gestorColisiones = new GestorColisiones();
-        gestorRondas = new GestorRondas();
-
-        // Cargar sonidos y música
-        explosionSound = Gdx.audio.newSound(Gdx.files.internal("explosion.ogg"));
-        gameMusic = Gdx.audio.newMusic(Gdx.files.internal("piano-loops.wav"));
-        gameMusic.setLooping(true);
-        gameMusic.setVolume(1f);
-        gameMusic.play();
-
-        // Cargar texturas
-        texturaFondo = new Texture(Gdx.files.internal("sala.png"));
-        texturaNaveJugador = new Texture(Gdx.files.internal("gato1.png"));
-        texturaNaveEnemiga = new Texture(Gdx.files.internal("secador.png"));
-        texturaBalaJugador = new Texture(Gdx.files.internal("bolaPelo.png"));
-        texturaVida = new Texture(Gdx.files.internal("pezVida.png"));
-        texturaEscudo = new Texture(Gdx.files.internal("cajaEscudo.png"));
-
-        // Crear nave del jugador
-        nave = new NaveJugador(30, WORLD_HEIGHT / 2 - 50, texturaNaveJugador, texturaBalaJugador);
-        nave.setVidas(vidas);
+
+        // Obtener sonidos; si otra pantalla ya los tenía, no se vuelven a cargar
+        GestorRecursos recursos = game.getRecursos();
+        // Volumen, duración en segundos y voces simultáneas de cada efecto
+        sonidoExplosion = sonidos.registrar(recursos.obtener(GestorRecursos.SONIDO_EXPLOSION, Sound.class), 0.3f, 1.6f, 4);
+        sonidoHerido = sonidos.registrar(recursos.obtener(GestorRecursos.SONIDO_HERIDO, Sound.class), 1f, 1.1f, 2);
+        sonidoDisparo = sonidos.registrar(recursos.obtener(GestorRecursos.SONIDO_DISPARO, Sound.class), 1f, 0.6f, 3);
+        sonidoPowerUp = sonidos.registrar(recursos.obtener(GestorRecursos.SONIDO_POWER_UP, Sound.class), 0.8f, 1.6f, 2);
+        // Obtener texturas
+        texturaFondo = recursos.obtener(GestorRecursos.FONDO_JUEGO, Texture.class);
+        atlas = recursos.obtener(GestorRecursos.ATLAS_SPRITES, TextureAtlas.class);
+        regionNaveJugador = atlas.findRegion("gato1");
+        regionNaveEnemiga = atlas.findRegion("secador");
+        regionBalaJugador = atlas.findRegion("bolaPelo");
+        regionVida = atlas.findRegion("pezVida");
+        regionEscudo = atlas.findRegion("cajaEscudo");
+
+        // Las teclas pasan por el grabador antes de llegar a la nave
+        GrabadorEntrada grabador = new GrabadorEntrada(entrada, repeticion);
+        sim = repeticion.crearSimulacion(grabador, this);
+        perfilador = game.getPerfilador();
+        sim.setPerfilador(perfilador);
     }
 
     /**
      * Dibuja la interfaz del jugador (HUD), incluyendo vidas, ronda y puntuación.
+     * Los textos solo se rearman cuando cambia su valor; en un frame sin cambios
+     * no se crea ningún objeto.
      */
     public void dibujaEncabezado() {
-        CharSequence str = "Vidas: " + nave.getVidas() + " Ronda: " + ronda;
-        game.getFont().getData().setScale(2f);		
-        game.getFont().draw(batch, str, 10, 30);
-        game.getFont().draw(batch, "Score:" + this.score, WORLD_WIDTH - 150, 30);
-        game.getFont().draw(batch, "HighScore:" + game.getHighScore(), WORLD_WIDTH / 2 - 100, 30);
+        BitmapFont font = game.getFont();
+        escalarFuente(2f);
+
+        int vidas = sim.getNave().getVidas();
+        int ronda = sim.getRonda();
+        if (vidas != vidasMostradas || ronda != rondaMostrada) {
+            vidasMostradas = vidas;
+            rondaMostrada = ronda;
+            textoVidasRonda.setLength(0);
+            textoVidasRonda.append("Vidas: ").append(vidas).append(" Ronda: ").append(ronda);
+            layoutVidasRonda.setText(font, textoVidasRonda);
+        }
+        if (sim.getScore() != scoreMostrado) {
+            scoreMostrado = sim.getScore();
+            textoScore.setLength(0);
+            textoScore.append("Score:").append(scoreMostrado);
+            layoutScore.setText(font, textoScore);
+        }
+        if (game.getHighScore() != highScoreMostrado) {
+            highScoreMostrado = game.getHighScore();
+            textoHighScore.setLength(0);
+            textoHighScore.append("HighScore:").append(highScoreMostrado);
+            layoutHighScore.setText(font, textoHighScore);
+        }
+
+        font.draw(batch, layoutVidasRonda, 10, 30);
+        font.draw(batch, layoutScore, WORLD_WIDTH - 150, 30);
+        font.draw(batch, layoutHighScore, WORLD_WIDTH / 2 - 100, 30);
+        if (game.isMostrarPerfil()) {
+            dibujaPerfil();
+        }
+    }
+
+    /**
+     * Dibuja el aviso de la ronda siguiente durante la transición.
+     */
+    private void dibujaTransicion() {
+        escalarFuente(3f);
+        if (sim.getRonda() + 1 != rondaSiguienteMostrada) {
+            rondaSiguienteMostrada = sim.getRonda() + 1;
+            textoRonda.setLength(0);
+            textoRonda.append("RONDA ").append(rondaSiguienteMostrada);
+            layoutRonda.setText(game.getFont(), textoRonda);
+        }
+        game.getFont().draw(batch, layoutRonda, WORLD_WIDTH / 2f - 130, WORLD_HEIGHT / 2f);
+    }
+
+    /**
+     * Cambia la escala de la fuente compartida solo si es distinta de la actual.
+     * Los GlyphLayout guardan posiciones ya escaladas, así que cada texto debe
+     * dibujarse con la misma escala con la que se armó.
+     */
+    private void escalarFuente(float escala) {
+        BitmapFont.BitmapFontData datos = game.getFont().getData();
+        if (datos.scaleX != escala || datos.scaleY != escala) {
+            datos.setScale(escala);
+        }
+    }
+
+    /**
+     * Dibuja los datos del perfilador: percentiles del tiempo de frame, tiempo
+     * promedio de cada fase, entidades, llamadas de dibujo y memoria.
+     * Cambian en cada frame, pero se arman sobre el mismo buffer y el mismo layout.
+     */
+    private void dibujaPerfil() {
+        escalarFuente(1f);
+        StringBuilder texto = textoPerfil;
+        texto.setLength(0);
+        texto.append("Frame p50: ");
+        agregarDecimal(texto, perfilador.getMsPercentil(50), 2);
+        texto.append(" ms  p99: ");
+        agregarDecimal(texto, perfilador.getMsPercentil(99), 2);
+        texto.append(" ms");
+        for (int f = 0; f < FASES.length; f++) {
+            texto.append('\n').append(NOMBRES_FASES[f]);
+            agregarDecimal(texto, perfilador.getMsPromedio(FASES[f]), 3);
+            texto.append(" ms");
+        }
+        texto.append("\nEnemigos: ").append(sim.getEnemigos().tamano()).append("  Balas: ").append(sim.getBalas().tamano());
+        texto.append("\nDraw calls: ").append(llamadasDibujo);
+        texto.append("\nHeap: ").append(perfilador.getMemoriaUsada() / (1024 * 1024))
+                .append(" MB  GC: ").append(perfilador.getRecoleccionesHistorial());
+
+        layoutPerfil.setText(game.getFont(), texto);
+        game.getFont().draw(batch, layoutPerfil, 10, WORLD_HEIGHT - 10);
+        escalarFuente(2f);
+    }
+
+    /**
+     * Agrega un valor no negativo con la cantidad de decimales indicada,
+     * sin crear objetos como lo haría {@code String.format}.
+     */
+    private static void agregarDecimal(StringBuilder texto, float valor, int decimales) {
+        int escala = 1;
+        for (int i = 0; i < decimales; i++) {
+            escala *= 10;
+        }
+        long total = Math.round(valor * escala);
+        texto.append(total / escala).append('.');
+        long resto = total % escala;
+        for (int divisor = escala / 10; divisor > 1 && resto < divisor; divisor /= 10) {
+            texto.append('0');
+        }
+        texto.append(resto);
+    }
+
+    /**
+     * Dibuja un histograma con la duración de los últimos frames. Las barras
+     * son verdes hasta {@link #MS_OBJETIVO}, amarillas hasta el doble y rojas
+     * por encima; la línea blanca marca el objetivo de 60 frames por segundo.
+     */
+    private void dibujaHistograma() {
+        if (formas == null) {
+            formas = new ShapeRenderer();
+        }
+        float base = WORLD_HEIGHT - 100;
+        float derecha = WORLD_WIDTH - 10;
+        int n = Math.min(FRAMES_HISTOGRAMA, perfilador.getCantidadFrames());
+
+        formas.setProjectionMatrix(camera.combined);
+        formas.begin(ShapeRenderer.ShapeType.Filled);
+        for (int i = 0; i < n; i++) {
+            float ms = perfilador.getNanosFrame(i) / 1e6f;
+            if (ms <= MS_OBJETIVO) formas.setColor(0.2f, 0.9f, 0.2f, 1);
+            else if (ms <= 2 * MS_OBJETIVO) formas.setColor(1, 0.8f, 0.2f, 1);
+            else formas.setColor(1, 0.2f, 0.2f, 1);
+            formas.rect(derecha - (i + 1) * 2, base, 2, Math.min(ms, 45f) * PIXELES_POR_MS);
+        }
+        formas.setColor(1, 1, 1, 1);
+        formas.rect(derecha - FRAMES_HISTOGRAMA * 2, base + MS_OBJETIVO * PIXELES_POR_MS, FRAMES_HISTOGRAMA * 2, 1);
+        formas.end();
+    }
+
+    /**
+     * Guarda la repetición de la partida terminada en {@link #ARCHIVO_REPETICION},
+     * reemplazando la anterior. Se puede verificar con el lanzador sin ventana.
+     * Aquí solo se codifica en memoria; el disco lo toca el {@link EscritorArchivos}.
+     */
+    private void guardarRepeticion() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            repeticion.escribir(bytes);
+        } catch (IOException e) {
+            Gdx.app.error("PantallaJuego", "No se pudo guardar la repetición", e);
+            return;
+        }
+        game.getEscritor().escribir(game.archivoDatos(ARCHIVO_REPETICION), bytes.toByteArray());
+    }
+
+    /**
+     * Guarda la ronda en curso en {@link #ARCHIVO_PARTIDA} para retomarla desde
+     * el menú, incluso después de cerrar el juego. La captura toma microsegundos;
+     * la escritura queda a cargo del {@link EscritorArchivos}.
+     */
+    private void guardarPartida() {
+        Instantanea partida = new Instantanea();
+        partida.capturar(sim);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(partida.getBytes() + 16);
+        try {
+            partida.escribir(bytes);
+        } catch (IOException e) {
+            Gdx.app.error("PantallaJuego", "No se pudo guardar la partida", e);
+            return;
+        }
+        game.getEscritor().escribir(game.archivoDatos(ARCHIVO_PARTIDA), bytes.toByteArray());
+    }
+
+    /**
+     * Guarda el historial del perfilador en {@link SpaceNavigation#CARPETA_DATOS},
+     * en un archivo CSV y otro JSON con el mismo nombre.
+     */
+    private void guardarPerfil() {
+        String nombre = "perfil-" + TimeUtils.millis();
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        try (Writer salidaCsv = new OutputStreamWriter(csv, StandardCharsets.UTF_8);
+                Writer salidaJson = new OutputStreamWriter(json, StandardCharsets.UTF_8)) {
+            perfilador.escribirCsv(salidaCsv);
+            perfilador.escribirJson(salidaJson);
+        } catch (IOException e) {
+            Gdx.app.error("PantallaJuego", "No se pudo guardar el perfil", e);
+            return;
+        }
+        game.getEscritor().escribir(game.archivoDatos(nombre + ".csv"), csv.toByteArray());
+        game.getEscritor().escribir(game.archivoDatos(nombre + ".json"), json.toByteArray());
+        Gdx.app.log("PantallaJuego", "Perfil guardado en " + game.archivoDatos(nombre + ".csv").getParent());
     }
     
     /**
-     * Lógica principal del juego. Actualiza entidades, gestiona colisiones,
-     * dibuja los elementos y controla el avance entre rondas.
+     * Lógica principal del juego. Avanza la simulación a paso fijo
+     * ({@link Simulacion#TICKS_POR_SEGUNDO} ticks por segundo) ejecutando tantos ticks
+     * como correspondan al tiempo transcurrido, dibuja los elementos
+     * interpolando entre ticks y controla el avance entre rondas.
+     * Así la velocidad del juego no depende de la tasa de refresco.
      *
      * @param delta tiempo transcurrido desde el último frame (en segundos).
      */
     @Override
     public void render(float delta) {
         
-        // --- 1. LÓGICA DE ACTUALIZACIÓN (UPDATE) ---
-
-        // Spawn gradual de enemigos
-        tiempoSpawn += delta;
-        if (enemigosCreados < enemigosMaxNivel && tiempoSpawn >= intervaloSpawn) {
-            tiempoSpawn = 0f;
-            // Usamos el constructor de NaveEnemiga
-            NaveEnemiga enemigo = new NaveEnemiga(texturaNaveEnemiga, nave,
-                    WORLD_WIDTH - 100 + random.nextInt(50),
-                    random.nextInt((int)WORLD_HEIGHT),
-                    1);
-            enemigos.add(enemigo);
-            enemigosCreados++;
+        // --- 1. LÓGICA DE ACTUALIZACIÓN (UPDATE) Y COLISIÓN, A PASO FIJO ---
+        perfilador.iniciarFrame();
+        entrada.capturar();
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) {
+            game.setMostrarPerfil(!game.isMostrarPerfil());
         }
-
-        nave.update(this); 
-
-        for (int i = 0; i < balas.size(); i++) {
-            Bullet b = balas.get(i);
-            b.update();
-            if (b.isDestroyed()) {
-                balas.remove(i);
-                i--; 
-            }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F4)) {
+            guardarPerfil();
         }
-
-        for (NaveEnemiga enemigo : enemigos) {
-            enemigo.update(this);
+        acumulador += Math.min(delta, MAX_DELTA);
+        // Al terminar la transición no se simula más esta ronda, así los ticks
+        // grabados no dependen de cuántos caben en el último frame
+        while (acumulador >= Simulacion.PASO && !sim.isJuegoTerminado() && !sim.isTransicionTerminada()) {
+            sim.paso();
+            acumulador -= Simulacion.PASO;
         }
-
-        for (int i = 0; i < powerUps.size(); i++) {
-            PowerUp p = powerUps.get(i);
-            p.update();
-            if (p.isDestroyed()) {
-                powerUps.remove(i);
-                i--;
-            }
+        float alfa = acumulador / Simulacion.PASO;
+        // Los sonidos de todos los ticks del frame salen juntos
+        sonidos.despachar(delta);
+
+        // --- 2. LÓGICA DE ESTADO DEL JUEGO: DERROTA ---
+        if (sim.isJuegoTerminado()) {
+            int posicion = game.getPuntajes().registrar(sim.getScore(), sim.getRonda(), TimeUtils.millis());
+            repeticion.terminar(sim);
+            guardarRepeticion();
+            // Una partida perdida ya no se puede retomar
+            game.getEscritor().borrar(game.archivoDatos(ARCHIVO_PARTIDA));
+
+            Screen gameOver = new PantallaGameOver(game, posicion);
+            gameOver.resize((int)WORLD_WIDTH, (int)WORLD_HEIGHT);
+            game.setScreen(gameOver);
+            dispose();
+            return;
         }
-
-        // --- 2. LÓGICA DE COLISIÓN ---
-        gestorColisiones.manejarColisiones(nave, enemigos, balas, powerUps, explosionSound, this);
 		
         // --- 3. LÓGICA DE DIBUJO (DRAW) ---
+        long t = perfilador.marca();
+        int llamadasInicio = batch.totalRenderCalls;
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
         camera.update();
         batch.setProjectionMatrix(camera.combined);
         batch.begin();
         
         batch.draw(texturaFondo, 0, 0, WORLD_WIDTH, WORLD_HEIGHT);
-        for (Bullet b : balas) b.draw(batch);
-        for (NaveEnemiga enemigo : enemigos) enemigo.draw(batch);
-        for (PowerUp p : powerUps) p.draw(batch);
-        nave.draw(batch); 
+        sistemaDibujo.dibujarBalas(batch, sim.getBalas(), regionBalaJugador, alfa);
+        sistemaDibujo.dibujarEnemigos(batch, sim.getEnemigos(), regionNaveEnemiga, alfa);
+        BolsaEntidades<PowerUp> powerUps = sim.getPowerUps();
+        for (int i = 0; i < powerUps.tamano(); i++) {
+            PowerUp p = powerUps.obtener(i);
+            p.draw(batch, p.getTipo() == TipoPowerUp.VIDA ? regionVida : regionEscudo, alfa);
+        }
+        sim.getNave().draw(batch, regionNaveJugador, alfa); 
         dibujaEncabezado();
+
+        // Si estamos en transición, mostrar texto; el tiempo se cuenta en ticks
+        if (sim.isRondaCompletada()) {
+            dibujaTransicion();
+        }
 	      
         batch.end();
-	      
-        // --- 4. LÓGICA DE ESTADO DEL JUEGO ---
-        
-        gestorRondas.manejarRondas(this, nave, enemigosCreados, enemigosMaxNivel);
-        
-        if (rondaCompletada && !mostrandoTransicion) {
-            mostrandoTransicion = true;
-            tiempoTransicion = 0f;
+        if (game.isMostrarPerfil()) {
+            dibujaHistograma();
         }
-
-        // Si estamos en transición, mostrar texto y contar tiempo
-        if (mostrandoTransicion) {
-            tiempoTransicion += delta;
-
-            batch.begin();
-            game.getFont().getData().setScale(3f);
-            game.getFont().draw(batch, "RONDA " + (ronda + 1), WORLD_WIDTH / 2f - 130, WORLD_HEIGHT / 2f);
-            batch.end();
-
-            if (tiempoTransicion >= 3f) {
-                Screen siguiente = new PantallaJuego(game, ronda + 1, nave.getVidas(), score, cantEnemigos + 5);
-                siguiente.resize(1200, 800);
-                game.setScreen(siguiente);
-                dispose();
-            }
+        llamadasDibujo = batch.totalRenderCalls - llamadasInicio;
+        perfilador.registrar(Perfilador.Fase.DIBUJO, t);
+        perfilador.terminarFrame(sim.getEnemigos().tamano(), sim.getBalas().tamano(), powerUps.tamano(), llamadasDibujo);
+	      
+        // --- 4. LÓGICA DE ESTADO DEL JUEGO: VICTORIA ---
+        // La misma pantalla y la misma simulación siguen en la ronda siguiente;
+        // GestorRondas solo reinicia el estado, sin crear objetos ni obtener recursos
+        if (sim.isTransicionTerminada()) {
+            repeticion.registrarRonda(sim);
+            sim.siguienteRonda();
         }
 
     }
 
-    /**
-     * Incrementa la puntuación del jugador.
-     * @param cantidad puntos a añadir al marcador actual.
-     */
-    public void incrementarScore(int cantidad) {
-        	score += cantidad;
+    // --- Eventos de la simulación ---
+
+    /** Pide el sonido de disparo para el final del frame. */
+    @Override
+    public void alDisparar() {
+        sonidos.solicitar(sonidoDisparo);
     }
-    
-    /**
-     * Genera un Power-Up en una posición determinada tras la destrucción de un enemigo.
-     * @param x posición X donde aparece el Power-Up.
-     * @param y posición Y donde aparece el Power-Up.
-     */
-    public void soltarPowerUp(float x, float y) {
-        if (random.nextBoolean()) {
-            powerUps.add(new PowerUp(x, y, texturaVida, TipoPowerUp.VIDA));
-        } else {
-            powerUps.add(new PowerUp(x, y, texturaEscudo, TipoPowerUp.ESCUDO));
-        }
+
+    /** Pide el sonido de daño del jugador para el final del frame. */
+    @Override
+    public void alRecibirDano() {
+        sonidos.solicitar(sonidoHerido);
     }
-    
-    /**
-     * Permite a otras clases (como NaveJugador) añadir balas a la lista.
-     * @param bb La bala a añadir.
-     * @return true si la bala fue añadida.
-     */
-    public boolean agregarBala(Bullet bb) {
-        return balas.add(bb);
+
+    /** Pide el sonido de power-up recogido para el final del frame. */
+    @Override
+    public void alRecogerPowerUp(TipoPowerUp tipo) {
+        sonidos.solicitar(sonidoPowerUp);
     }
-	
-    public boolean isRondaCompletada() {
-        return rondaCompletada;
+
+    /** Pide el sonido de explosión de una nave enemiga para el final del frame. */
+    @Override
+    public void alDestruirEnemigo(float x, float y) {
+        sonidos.solicitar(sonidoExplosion);
     }
 
-    public void setRondaCompletada(boolean valor) {
-        this.rondaCompletada = valor;
+    /**
+     * Obtiene las llamadas de dibujo que necesitó el último frame completo.
+     * Con el atlas de sprites deberían ser pocas y no depender de la cantidad de entidades.
+     * @return llamadas de dibujo del último frame
+     */
+    public int getLlamadasDibujo() {
+        return llamadasDibujo;
     }
 
     public SpaceNavigation getGame() {
         return game;
     }
 
-    public ArrayList<NaveEnemiga> getEnemigos() {
-        return enemigos;
-    }
-    
-    public int getScore() {
-        return score;
+    /**
+     * Obtiene la simulación de la ronda en curso.
+     * @return la {@link Simulacion} que dibuja esta pantalla
+     */
+    public Simulacion getSimulacion() {
+        return sim;
     }
     
     // Métodos del ciclo de vida de la pantalla
     
-    /** Se ejecuta cuando la pantalla se muestra. */
+    /**
+     * Se ejecuta cuando la pantalla se muestra. Hace sonar la música del juego,
+     * que ya no se interrumpe hasta salir de la partida, y hace que el
+     * perfilador no cuente como frame el tiempo pasado en otras pantallas.
+     */
     @Override
     public void show() {
-        gameMusic.play();
+        game.getMusica().reproducir(GestorRecursos.MUSICA_JUEGO, 1f, true);
+        perfilador.reiniciarFrame();
     }
 
     /** Se ejecuta al cambiar el tamaño de la ventana. */
     @Override
     public void resize(int width, int height) { }
 
-    /** Se ejecuta cuando el juego entra en pausa. */
+    /**
+     * Se ejecuta cuando el juego entra en pausa, también justo antes de cerrarse.
+     * Guarda la ronda en curso para poder retomarla.
+     */
     @Override
-    public void pause() { }
+    public void pause() {
+        if (!sim.isJuegoTerminado()) {
+            guardarPartida();
+        }
+    }
 
     /** Se ejecuta cuando el juego se reanuda. */
     @Override
@@ -290,16 +563,23 @@ public class PantallaJuego implements Screen {
     @Override
     public void hide() { }
 
-    /** Libera los recursos gráficos y de audio asociados a la pantalla. */
+    /**
+     * Suelta las referencias a los recursos gráficos y de audio de la pantalla.
+     * La misma pantalla dura todas las rondas de la partida, así que esto
+     * ocurre una sola vez, al perderla; hasta entonces los recursos siguen
+     * referenciados. Los precargados quedan cargados igual.
+     */
     @Override
     public void dispose() {
-        this.explosionSound.dispose();
-        this.gameMusic.dispose();
-        texturaNaveJugador.dispose();
-        texturaNaveEnemiga.dispose();
-        texturaBalaJugador.dispose();
-        texturaFondo.dispose(); 
-        texturaVida.dispose();
-        texturaEscudo.dispose();
+        GestorRecursos recursos = game.getRecursos();
+        recursos.liberar(GestorRecursos.SONIDO_EXPLOSION);
+        recursos.liberar(GestorRecursos.SONIDO_HERIDO);
+        recursos.liberar(GestorRecursos.SONIDO_DISPARO);
+        recursos.liberar(GestorRecursos.SONIDO_POWER_UP);
+        recursos.liberar(GestorRecursos.FONDO_JUEGO);
+        recursos.liberar(GestorRecursos.ATLAS_SPRITES);
+        if (formas != null) {
+            formas.dispose();
+        }
     }
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package io.github.SpaceNav;
 
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.utils.ScreenUtils;
@@ -13,7 +18,8 @@ import com.badlogic.gdx.utils.ScreenUtils;
  * <p>
  * Esta pantalla muestra una imagen de fondo y reproduce música mientras
  * el jugador espera para iniciar la partida. Al hacer clic o presionar cualquier tecla,
- * se inicia la primera ronda del juego.
+ * se inicia la primera ronda del juego. Si quedó guardada una ronda a medias
+ * (ver {@link PantallaJuego#ARCHIVO_PARTIDA}), la tecla C la retoma.
  * </p>
  *
  * @see PantallaJuego
@@ -30,8 +36,8 @@ public class PantallaMenu implements Screen {
     /** Textura de fondo del menú. */
     private Texture backgroundTexture;
 
-    /** Música que se reproduce en el menú principal. */
-    private Music menuMusic;
+    /** Ronda guardada al pausar una partida, o null si no hay ninguna. */
+    private Instantanea partidaGuardada;
 
     /**
      * Crea una nueva instancia de la pantalla de menú principal.
@@ -43,12 +49,26 @@ public class PantallaMenu implements Screen {
         
 		camera = new OrthographicCamera();
 		camera.setToOrtho(false, PantallaJuego.WORLD_WIDTH, PantallaJuego.WORLD_HEIGHT);
-		backgroundTexture = new Texture(Gdx.files.internal("portada.png"));
+		backgroundTexture = game.getRecursos().obtener(GestorRecursos.FONDO_MENU, Texture.class);
 		
-		menuMusic = Gdx.audio.newMusic(Gdx.files.internal("inicio.mp3")); 
-        menuMusic.setLooping(true);
-        menuMusic.setVolume(0.5f);
-        menuMusic.play();
+		partidaGuardada = leerPartidaGuardada();
+	}
+
+	/**
+     * Lee la ronda guardada por {@link PantallaJuego} al pausar. Son unos pocos
+     * kilobytes, así que se lee en el acto.
+     *
+     * @return la instantánea guardada, o null si no hay una o no se puede leer
+     */
+	private Instantanea leerPartidaGuardada() {
+		File archivo = game.archivoDatos(PantallaJuego.ARCHIVO_PARTIDA);
+		if (!archivo.exists()) return null;
+		try (InputStream entrada = new BufferedInputStream(new FileInputStream(archivo))) {
+			return Instantanea.leer(entrada);
+		} catch (IOException e) {
+			Gdx.app.error("PantallaMenu", "No se pudo leer la partida guardada", e);
+			return null;
+		}
 	}
 
 	/**
@@ -67,11 +87,23 @@ public class PantallaMenu implements Screen {
 		game.getBatch().draw(backgroundTexture, 0, 0, PantallaJuego.WORLD_WIDTH, PantallaJuego.WORLD_HEIGHT);
 		game.getFont().draw(game.getBatch(), "Bienvenid@ a Astro-Toon !", 140, 400);
 		game.getFont().draw(game.getBatch(), "Haz click o Presiona Una Tecla para Despegar...", 100, 300);
+		if (partidaGuardada != null) {
+			game.getFont().draw(game.getBatch(), "Presiona C para continuar la ronda " + partidaGuardada.getRonda(), 100, 220);
+		}
 	
 		game.getBatch().end();
+		game.registrarPrimerFrameInteractivo();
 
 		if (Gdx.input.isTouched() || Gdx.input.isKeyJustPressed(Input.Keys.ANY_KEY)) {
-			Screen ss = new PantallaJuego(game,1,3,0,10);
+			Instantanea partida = Gdx.input.isKeyJustPressed(Input.Keys.C) ? partidaGuardada : null;
+			Screen ss;
+			if (game.getRecursos().estanCargados(GestorRecursos.RECURSOS_JUEGO)) {
+				ss = partida != null ? new PantallaJuego(game, partida) : new PantallaJuego(game,1,3,0,10);
+			} else {
+				// Los recursos del juego aún se están cargando en segundo plano
+				ss = new PantallaCarga(game, GestorRecursos.RECURSOS_JUEGO,
+						() -> partida != null ? new PantallaJuego(game, partida) : new PantallaJuego(game,1,3,0,10));
+			}
 			ss.resize((int)PantallaJuego.WORLD_WIDTH, (int)PantallaJuego.WORLD_HEIGHT);
 			game.setScreen(ss);
 			dispose();
@@ -83,8 +115,7 @@ public class PantallaMenu implements Screen {
      */
 	@Override
 	public void show() {
-		// TODO Auto-generated method stub
-		
+		game.getMusica().reproducir(GestorRecursos.MUSICA_MENU, 0.5f, true);
 	}
 
 	/**
@@ -101,10 +132,11 @@ public class PantallaMenu implements Screen {
 
 	/**
      * Se ejecuta cuando el juego es pausado (por ejemplo, al minimizar la ventana).
+     * La música la pausa {@link SpaceNavigation}.
      */
 	@Override
 	public void pause() {
-		menuMusic.pause();
+		
 	}
 
 	/**
@@ -112,7 +144,7 @@ public class PantallaMenu implements Screen {
      */
 	@Override
 	public void resume() {
-		menuMusic.play();
+		
 	}
 
 	/**
@@ -129,7 +161,6 @@ public class PantallaMenu implements Screen {
      */
 	@Override
 	public void dispose() {
-		backgroundTexture.dispose();
-        menuMusic.dispose();
+		game.getRecursos().liberar(GestorRecursos.FONDO_MENU);
 	}  
 }
\ No newline at end of file
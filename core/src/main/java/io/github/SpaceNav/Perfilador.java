@@ -0,0 +1,364 @@
+package io.github.SpaceNav;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Perfilador de frames integrado al juego.
+ * <p>
+ * Acumula el tiempo, en nanosegundos, de cada {@link Fase} del frame en curso
+ * y, al cerrarlo con {@link #terminarFrame}, lo guarda en un historial circular
+ * junto con la duración del frame, la cantidad de entidades, las llamadas de
+ * dibujo, las recolecciones de basura y la memoria usada del heap. Con ese
+ * historial calcula percentiles del tiempo de frame y puede volcarse en CSV o
+ * JSON para analizarlo fuera del juego.
+ * </p>
+ * <p>
+ * Todos los arreglos se crean en el constructor, por lo que registrar un frame
+ * no genera basura. {@link #NULO} no registra nada; es el que usa una
+ * {@link Simulacion} si nadie le asigna otro.
+ * </p>
+ */
+public class Perfilador {
+
+    /** Fases del frame que se miden por separado. */
+    public enum Fase {
+        /** Aparición gradual de enemigos. */
+        APARICION,
+        /** Movimiento y disparo del jugador. */
+        JUGADOR,
+        /** Movimiento de las balas. */
+        BALAS,
+        /** Movimiento de los enemigos. */
+        ENEMIGOS,
+        /** Movimiento de los power-ups y compactación de entidades. */
+        POWER_UPS,
+        /** Detección y resolución de colisiones. */
+        COLISIONES,
+        /** Estado de la ronda. */
+        RONDAS,
+        /** Dibujo de la escena y del HUD. */
+        DIBUJO
+    }
+
+    private static final Fase[] FASES = Fase.values();
+
+    /** Frames que se conservan por defecto: 10 segundos a 60 frames por segundo. */
+    public static final int HISTORIAL_DEFECTO = 600;
+
+    /** Perfilador sin historial, que no registra nada. */
+    public static final Perfilador NULO = new Perfilador(0);
+
+    /** Cantidad de frames que se conservan; 0 si el perfilador no registra nada. */
+    private final int historial;
+
+    // Historial circular: el frame k se guarda en la posición k % historial
+    private final long[][] nanosFase;
+    private final long[] nanosFrame;
+    private final int[] ticks;
+    private final int[] enemigos;
+    private final int[] balas;
+    private final int[] powerUps;
+    private final int[] llamadasDibujo;
+    private final long[] recolecciones;
+    private final long[] msRecoleccion;
+    private final long[] memoriaUsada;
+
+    /** Copia ordenada de las duraciones de frame, para los percentiles. */
+    private final long[] ordenados;
+
+    /** Tiempo acumulado por fase en el frame en curso. */
+    private final long[] acumulado = new long[FASES.length];
+    /** Ticks de simulación del frame en curso. */
+    private int ticksFrame;
+    /** Inicio del frame en curso, o 0 si todavía no empezó ninguno. */
+    private long inicioFrame;
+    /** Duración del último frame, medida entre dos llamadas a {@link #iniciarFrame()}. */
+    private long nanosUltimoFrame;
+    /** Cantidad total de frames terminados desde que se creó el perfilador. */
+    private long frames;
+
+    private final List<GarbageCollectorMXBean> recolectores;
+    private final Runtime runtime = Runtime.getRuntime();
+
+    /**
+     * Crea un perfilador con el historial por defecto.
+     */
+    public Perfilador() {
+        this(HISTORIAL_DEFECTO);
+    }
+
+    /**
+     * Crea un perfilador.
+     *
+     * @param historial cantidad de frames que se conservan; 0 para no registrar nada
+     */
+    public Perfilador(int historial) {
+        this.historial = historial;
+        nanosFase = new long[FASES.length][historial];
+        nanosFrame = new long[historial];
+        ticks = new int[historial];
+        enemigos = new int[historial];
+        balas = new int[historial];
+        powerUps = new int[historial];
+        llamadasDibujo = new int[historial];
+        recolecciones = new long[historial];
+        msRecoleccion = new long[historial];
+        memoriaUsada = new long[historial];
+        ordenados = new long[historial];
+        recolectores = historial > 0 ? ManagementFactory.getGarbageCollectorMXBeans() : null;
+    }
+
+    /**
+     * Empieza un frame nuevo. La duración del frame anterior se mide desde su
+     * propio inicio hasta este, por lo que incluye la espera de la sincronía vertical.
+     */
+    public void iniciarFrame() {
+        if (historial == 0) return;
+        long ahora = TimeUtils.nanoTime();
+        if (inicioFrame != 0) {
+            nanosUltimoFrame = ahora - inicioFrame;
+        }
+        inicioFrame = ahora;
+        Arrays.fill(acumulado, 0);
+        ticksFrame = 0;
+    }
+
+    /**
+     * Olvida el inicio del último frame, de modo que el próximo no mida el
+     * tiempo que el juego pasó en otra pantalla. Un frame empezado y no
+     * terminado se descarta.
+     */
+    public void reiniciarFrame() {
+        inicioFrame = 0;
+        nanosUltimoFrame = 0;
+    }
+
+    /**
+     * Obtiene una marca de tiempo para medir una fase con {@link #registrar}.
+     * @return instante actual en nanosegundos, o 0 si el perfilador no registra nada
+     */
+    public long marca() {
+        return historial == 0 ? 0 : TimeUtils.nanoTime();
+    }
+
+    /**
+     * Suma a una fase el tiempo transcurrido desde una marca.
+     *
+     * @param fase fase medida
+     * @param desde marca obtenida con {@link #marca()} o con un {@code registrar} anterior
+     * @return marca del instante actual, para encadenar la fase siguiente
+     */
+    public long registrar(Fase fase, long desde) {
+        if (historial == 0) return 0;
+        long ahora = TimeUtils.nanoTime();
+        acumulado[fase.ordinal()] += ahora - desde;
+        return ahora;
+    }
+
+    /** Cuenta un tick de simulación en el frame en curso. */
+    public void contarTick() {
+        if (historial == 0) return;
+        ticksFrame++;
+    }
+
+    /**
+     * Cierra el frame en curso y lo guarda en el historial.
+     *
+     * @param cantEnemigos enemigos vivos al terminar el frame
+     * @param cantBalas balas activas al terminar el frame
+     * @param cantPowerUps power-ups en pantalla al terminar el frame
+     * @param llamadas llamadas de dibujo a la GPU del frame ({@code SpriteBatch.renderCalls})
+     */
+    public void terminarFrame(int cantEnemigos, int cantBalas, int cantPowerUps, int llamadas) {
+        if (historial == 0) return;
+        int k = (int)(frames % historial);
+        long total = 0;
+        for (int f = 0; f < FASES.length; f++) {
+            nanosFase[f][k] = acumulado[f];
+            total += acumulado[f];
+        }
+        // Sin un frame anterior completo, la duración es el trabajo medido
+        nanosFrame[k] = nanosUltimoFrame > 0 ? nanosUltimoFrame : total;
+        ticks[k] = ticksFrame;
+        enemigos[k] = cantEnemigos;
+        balas[k] = cantBalas;
+        powerUps[k] = cantPowerUps;
+        llamadasDibujo[k] = llamadas;
+
+        long cantidad = 0, ms = 0;
+        for (int i = 0; i < recolectores.size(); i++) {
+            GarbageCollectorMXBean gc = recolectores.get(i);
+            cantidad += Math.max(0, gc.getCollectionCount());
+            ms += Math.max(0, gc.getCollectionTime());
+        }
+        recolecciones[k] = cantidad;
+        msRecoleccion[k] = ms;
+        memoriaUsada[k] = runtime.totalMemory() - runtime.freeMemory();
+        frames++;
+    }
+
+    /**
+     * Obtiene la cantidad de frames guardados en el historial.
+     * @return frames disponibles, como máximo el tamaño del historial
+     */
+    public int getCantidadFrames() {
+        return (int)Math.min(frames, historial);
+    }
+
+    /** Posición en el historial del frame terminado hace {@code atras} frames (0 es el último). */
+    private int posicion(int atras) {
+        return (int)((frames - 1 - atras) % historial);
+    }
+
+    /**
+     * Obtiene la duración de un frame del historial.
+     * @param atras 0 para el último frame, 1 para el anterior, etc.
+     * @return duración en nanosegundos
+     */
+    public long getNanosFrame(int atras) {
+        return nanosFrame[posicion(atras)];
+    }
+
+    /**
+     * Calcula un percentil de la duración de los frames del historial.
+     *
+     * @param percentil valor entre 0 y 100 (por ejemplo 50 o 99)
+     * @return duración en milisegundos, o 0 si no hay frames
+     */
+    public float getMsPercentil(float percentil) {
+        int n = getCantidadFrames();
+        if (n == 0) return 0;
+        System.arraycopy(nanosFrame, 0, ordenados, 0, n);
+        Arrays.sort(ordenados, 0, n);
+        int i = Math.min(n - 1, (int)Math.ceil(percentil / 100f * n) - 1);
+        return ordenados[Math.max(0, i)] / 1e6f;
+    }
+
+    /**
+     * Calcula el tiempo promedio por frame de una fase en el historial.
+     *
+     * @param fase fase medida
+     * @return milisegundos por frame, o 0 si no hay frames
+     */
+    public float getMsPromedio(Fase fase) {
+        int n = getCantidadFrames();
+        if (n == 0) return 0;
+        long[] nanos = nanosFase[fase.ordinal()];
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            total += nanos[i];
+        }
+        return total / (float)n / 1e6f;
+    }
+
+    public int getEnemigos() {
+        return frames == 0 ? 0 : enemigos[posicion(0)];
+    }
+
+    public int getBalas() {
+        return frames == 0 ? 0 : balas[posicion(0)];
+    }
+
+    public int getLlamadasDibujo() {
+        return frames == 0 ? 0 : llamadasDibujo[posicion(0)];
+    }
+
+    /**
+     * Obtiene las recolecciones de basura ocurridas durante el historial.
+     * @return cantidad de recolecciones entre el primer y el último frame guardados
+     */
+    public long getRecoleccionesHistorial() {
+        int n = getCantidadFrames();
+        return n == 0 ? 0 : recolecciones[posicion(0)] - recolecciones[posicion(n - 1)];
+    }
+
+    /**
+     * Obtiene la memoria usada del heap al terminar el último frame.
+     * @return bytes usados
+     */
+    public long getMemoriaUsada() {
+        return frames == 0 ? 0 : memoriaUsada[posicion(0)];
+    }
+
+    /**
+     * Escribe el historial en formato CSV, una fila por frame del más antiguo
+     * al más reciente. Los tiempos van en nanosegundos y la memoria en bytes.
+     *
+     * @param salida destino del texto; no se cierra
+     * @throws IOException si falla la escritura
+     */
+    public void escribirCsv(Writer salida) throws IOException {
+        salida.write("frame,nanos_frame");
+        for (Fase fase : FASES) {
+            salida.write(",nanos_" + fase.name().toLowerCase());
+        }
+        salida.write(",ticks,enemigos,balas,power_ups,llamadas_dibujo,recolecciones,ms_recoleccion,memoria_usada\n");
+
+        int n = getCantidadFrames();
+        for (int atras = n - 1; atras >= 0; atras--) {
+            int k = posicion(atras);
+            StringBuilder fila = new StringBuilder();
+            fila.append(frames - 1 - atras).append(',').append(nanosFrame[k]);
+            for (int f = 0; f < FASES.length; f++) {
+                fila.append(',').append(nanosFase[f][k]);
+            }
+            fila.append(',').append(ticks[k]).append(',').append(enemigos[k]).append(',').append(balas[k])
+                    .append(',').append(powerUps[k]).append(',').append(llamadasDibujo[k])
+                    .append(',').append(recolecciones[k]).append(',').append(msRecoleccion[k])
+                    .append(',').append(memoriaUsada[k]).append('\n');
+            salida.write(fila.toString());
+        }
+        salida.flush();
+    }
+
+    /**
+     * Escribe un resumen (percentiles y promedios por fase) y el historial
+     * completo en formato JSON, con las mismas columnas que {@link #escribirCsv}.
+     *
+     * @param salida destino del texto; no se cierra
+     * @throws IOException si falla la escritura
+     */
+    public void escribirJson(Writer salida) throws IOException {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"resumen\": {");
+        json.append("\"frames\": ").append(getCantidadFrames());
+        json.append(", \"ms_p50\": ").append(getMsPercentil(50));
+        json.append(", \"ms_p99\": ").append(getMsPercentil(99));
+        json.append(", \"recolecciones\": ").append(getRecoleccionesHistorial());
+        json.append(", \"ms_promedio\": {");
+        for (int f = 0; f < FASES.length; f++) {
+            if (f > 0) json.append(", ");
+            json.append('"').append(FASES[f].name().toLowerCase()).append("\": ").append(getMsPromedio(FASES[f]));
+        }
+        json.append("}},\n  \"frames\": [");
+
+        int n = getCantidadFrames();
+        for (int atras = n - 1; atras >= 0; atras--) {
+            int k = posicion(atras);
+            json.append(atras == n - 1 ? "\n" : ",\n");
+            json.append("    {\"frame\": ").append(frames - 1 - atras);
+            json.append(", \"nanos_frame\": ").append(nanosFrame[k]);
+            for (int f = 0; f < FASES.length; f++) {
+                json.append(", \"nanos_").append(FASES[f].name().toLowerCase()).append("\": ").append(nanosFase[f][k]);
+            }
+            json.append(", \"ticks\": ").append(ticks[k]);
+            json.append(", \"enemigos\": ").append(enemigos[k]);
+            json.append(", \"balas\": ").append(balas[k]);
+            json.append(", \"power_ups\": ").append(powerUps[k]);
+            json.append(", \"llamadas_dibujo\": ").append(llamadasDibujo[k]);
+            json.append(", \"recolecciones\": ").append(recolecciones[k]);
+            json.append(", \"ms_recoleccion\": ").append(msRecoleccion[k]);
+            json.append(", \"memoria_usada\": ").append(memoriaUsada[k]).append('}');
+        }
+        json.append("\n  ]\n}\n");
+        salida.write(json.toString());
+        salida.flush();
+    }
+}
@@ -1,9 +1,11 @@
 package io.github.SpaceNav;
 
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Sprite;
+import java.nio.ByteBuffer;
+
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Pool;
 
 /**
  * Representa un objeto de {@code Power-Up} que aparece en la pantalla
@@ -12,15 +14,40 @@ import com.badlogic.gdx.math.Rectangle;
  * Los Power-Ups se desplazan lentamente hacia la izquierda y desaparecen
  * al salir del área visible o al ser recogidos por la nave del jugador.
  * </p>
+ * <p>
+ * Las instancias se reutilizan mediante un {@link Pool}: se configuran con
+ * {@link #init} y se limpian con {@link #reset()} al ser liberadas.
+ * </p>
  *
  * @see TipoPowerUp
  * @see NaveJugador
  * @see Colisionable
  */
-public class PowerUp implements Colisionable {
+public class PowerUp implements Colisionable, Pool.Poolable {
+
+	/** Tamaño (ancho y alto) del power-up. */
+    public static final float TAMANO = 60;
+
+    /** Bytes que ocupa un power-up en una {@link Instantanea}. */
+    static final int BYTES_ESTADO = 4 * 4 + 1;
+
+    /** Posición horizontal del power-up. */
+    private float x;
+
+    /** Posición vertical del power-up. */
+    private float y;
+
+    /** Área de colisión en caché; solo se recalcula cuando el power-up se mueve. */
+    private final Rectangle area = new Rectangle();
+
+    /** Posición horizontal al inicio del último tick, usada para interpolar el dibujo. */
+    private float anteriorX;
+
+    /** Posición vertical al inicio del último tick, usada para interpolar el dibujo. */
+    private float anteriorY;
 
-	/** Sprite que representa visualmente al power-up en pantalla. */
-    private Sprite spr;
+    /** Indica si la posición cambió desde el último cálculo de {@link #area}. */
+    private boolean areaSucia = true;
 
     /** Tipo del power-up (por ejemplo, VIDA o ESCUDO). */
     private TipoPowerUp tipo;
@@ -32,39 +59,106 @@ public class PowerUp implements Colisionable {
     private float xVel = -1; // Se moverá lentamente a la izquierda
 
     /**
-     * Constructor para el Power-Up.
+     * Crea un power-up sin configurar, listo para ser administrado por un {@link Pool}.
+     * Debe llamarse a {@link #init} antes de usarlo.
+     */
+    public PowerUp() {
+    }
+
+    /**
+     * Configura el Power-Up.
      * @param x Posición inicial en x.
      * @param y Posición inicial en y.
-     * @param tx Textura del power-up.
      * @param tipo El tipo de power-up (VIDA o ESCUDO).
      */
-    public PowerUp(float x, float y, Texture tx, TipoPowerUp tipo) {
+    public void init(float x, float y, TipoPowerUp tipo) {
         this.tipo = tipo;
-        spr = new Sprite(tx);
-        spr.setBounds(x, y, 60, 60);
+        this.x = x;
+        this.y = y;
+        anteriorX = x;
+        anteriorY = y;
+        this.destroyed = false;
+        this.areaSucia = true;
     }
 
     /**
-     * Actualiza el estado del power-up en cada frame.
+     * Escribe posición, posición anterior y tipo. Entre ticks no quedan
+     * power-ups destruidos, así que esa marca no se guarda.
+     * @param destino buffer con al menos {@link #BYTES_ESTADO} bytes libres
+     */
+    void escribirEstado(ByteBuffer destino) {
+        destino.putFloat(x);
+        destino.putFloat(y);
+        destino.putFloat(anteriorX);
+        destino.putFloat(anteriorY);
+        destino.put((byte)tipo.ordinal());
+    }
+
+    /**
+     * Inicializa el power-up con el estado escrito por {@link #escribirEstado(ByteBuffer)}.
+     * @param origen buffer posicionado al comienzo del power-up
+     */
+    void leerEstado(ByteBuffer origen) {
+        init(origen.getFloat(), origen.getFloat(), null);
+        anteriorX = origen.getFloat();
+        anteriorY = origen.getFloat();
+        tipo = TipoPowerUp.values()[origen.get()];
+    }
+
+    /**
+     * Limpia el estado del power-up al devolverlo al pool.
+     */
+    @Override
+    public void reset() {
+        tipo = null;
+        destroyed = false;
+    }
+
+    /**
+     * Actualiza el estado del power-up en cada tick de simulación.
      * <p>
      * Controla su desplazamiento y verifica si debe ser eliminado
      * al salir del área visible de la pantalla.
      * </p>
      */
     public void update() {
-        spr.setPosition(spr.getX() + xVel, spr.getY());
+        anteriorX = x;
+        anteriorY = y;
+        if (xVel != 0) {
+            x += xVel;
+            areaSucia = true;
+        }
 
-        if (spr.getX() + spr.getWidth() < 0) {
+        if (x + TAMANO < 0) {
             destroyed = true;
         }
     }
 
     /**
-     * Dibuja el power-up en la pantalla.
+     * Dibuja el power-up en la pantalla, interpolando entre la posición
+     * del tick anterior y la actual.
      * @param batch El SpriteBatch para dibujar.
+     * @param tx Región del atlas del power-up, según su {@link TipoPowerUp}.
+     * @param alfa Fracción de tick transcurrida desde la última actualización (0 a 1).
      */
-    public void draw(SpriteBatch batch) {
-        spr.draw(batch);
+    public void draw(SpriteBatch batch, TextureRegion tx, float alfa) {
+        batch.draw(tx, anteriorX + (x - anteriorX) * alfa, anteriorY + (y - anteriorY) * alfa, TAMANO, TAMANO);
+    }
+
+    /**
+     * Devuelve la posición horizontal del power-up.
+     * @return coordenada x
+     */
+    public float getX() {
+        return x;
+    }
+
+    /**
+     * Devuelve la posición vertical del power-up.
+     * @return coordenada y
+     */
+    public float getY() {
+        return y;
     }
 
     /**
@@ -89,13 +183,18 @@ public class PowerUp implements Colisionable {
     // --- Métodos de la Interfaz Colisionable ---
 
     /**
-     * Obtiene el área rectangular del sprite, usada para detección de colisiones.
+     * Obtiene el área rectangular del power-up, usada para detección de colisiones.
+     * El rectángulo se reutiliza y solo se actualiza si el power-up se movió.
      *
      * @return el área del power-up como {@link Rectangle}.
      */
     @Override
     public Rectangle getArea() {
-        return spr.getBoundingRectangle();
+        if (areaSucia) {
+            area.set(x, y, TAMANO, TAMANO);
+            areaSucia = false;
+        }
+        return area;
     }
 
     /**
@@ -111,7 +210,8 @@ public class PowerUp implements Colisionable {
     public boolean colisionaCon(Colisionable otro) {
         // Solo colisiona con el jugador
         if (otro instanceof NaveJugador) {
-            return this.getArea().overlaps(otro.getArea());
+            Rectangle a = this.getArea();
+            return otro.overlaps(a.x, a.y, a.width, a.height);
         }
         return false;
     }
@@ -0,0 +1,214 @@
+package io.github.SpaceNav;
+
+import java.util.Arrays;
+
+/**
+ * Hace aparecer los enemigos de una ronda según una {@link TablaOleadas}.
+ * <p>
+ * Al comenzar la ronda, {@link #preparar} calcula de una vez todas las
+ * ráfagas del bloque que rige: en qué tick sale cada una, cuántos enemigos
+ * trae, con cuántas vidas y en qué patrón. Las deja ordenadas por tick en
+ * arreglos que se reutilizan entre rondas, así que durante la ronda
+ * {@link #emitir} solo avanza un cursor. Una ráfaga grande reserva lugar en
+ * el {@link AlmacenEnemigos} una sola vez y después llena sus arreglos, sin
+ * crear objetos por enemigo.
+ * </p>
+ * <p>
+ * Qué ráfagas ya salieron depende solo del tick de la ronda, así que no hace
+ * falta guardar nada en una {@link Instantanea}: {@link #ubicar} recupera el
+ * cursor a partir del tick.
+ * </p>
+ */
+public class ProgramadorOleadas {
+
+    /** Distancia entre enemigos vecinos de una flecha, en cada eje. */
+    private static final float SEPARACION_FLECHA = AlmacenEnemigos.TAMANO * 0.75f;
+
+    private TablaOleadas tabla = TablaOleadas.CLASICA;
+
+    // Ráfagas de la ronda ordenadas por tick: tick, oleada de la tabla y cantidad de enemigos
+    private int[] ticks = new int[64];
+    private int[] oleadas = new int[64];
+    private int[] cantidades = new int[64];
+    private int rafagas;
+
+    // Ráfagas en el orden en que se calculan y claves para ordenarlas: tick en los 32 bits altos, posición en los bajos
+    private int[] ticksSinOrden = new int[64];
+    private int[] oleadasSinOrden = new int[64];
+    private int[] cantidadesSinOrden = new int[64];
+    private long[] claves = new long[64];
+
+    /** Próxima ráfaga a emitir. */
+    private int cursor;
+    /** Enemigos emitidos en la ronda. */
+    private int creados;
+    /** Enemigos de todas las ráfagas de la ronda. */
+    private int total;
+
+    /**
+     * Cambia la tabla de oleadas. Rige desde la próxima llamada a {@link #preparar}.
+     * @param tabla tabla a usar
+     */
+    public void setTabla(TablaOleadas tabla) {
+        this.tabla = tabla;
+    }
+
+    public TablaOleadas getTabla() {
+        return tabla;
+    }
+
+    /**
+     * Calcula las ráfagas de una ronda y deja el cursor al comienzo. Solo
+     * crea objetos si la ronda tiene más ráfagas que cualquiera anterior.
+     *
+     * @param ronda número de la ronda
+     * @param cantEnemigos enemigos de la ronda, usados por las oleadas con cantidad {@code n}
+     */
+    public void preparar(int ronda, int cantEnemigos) {
+        rafagas = 0;
+        total = 0;
+        int bloque = tabla.bloque(ronda);
+        for (int o = tabla.primeraOleada(bloque); o < tabla.finOleadas(bloque); o++) {
+            int cantidad = tabla.cantidad(o, ronda, cantEnemigos);
+            if (cantidad == 0) continue;
+            int porRafaga = tabla.rafaga(o);
+            int emisiones = (cantidad + porRafaga - 1) / porRafaga;
+            double duracion = (double)tabla.intervalo(o) * (emisiones - 1);
+            for (int k = 0; k < emisiones; k++) {
+                double avance = emisiones > 1 ? (double)k / (emisiones - 1) : 0;
+                agregar(tabla.inicio(o) + (int)Math.round(duracion * tabla.curva(o).tiempo(avance)),
+                        o, Math.min(porRafaga, cantidad - k * porRafaga));
+            }
+            total += cantidad;
+        }
+
+        // A igual tick sale primero la ráfaga calculada antes, como en el archivo
+        for (int r = 0; r < rafagas; r++) {
+            claves[r] = ((long)ticksSinOrden[r] << 32) | r;
+        }
+        Arrays.sort(claves, 0, rafagas);
+        for (int r = 0; r < rafagas; r++) {
+            int origen = (int)claves[r];
+            ticks[r] = ticksSinOrden[origen];
+            oleadas[r] = oleadasSinOrden[origen];
+            cantidades[r] = cantidadesSinOrden[origen];
+        }
+        cursor = 0;
+        creados = 0;
+    }
+
+    private void agregar(int tick, int oleada, int cantidad) {
+        if (rafagas == ticks.length) {
+            int capacidad = rafagas * 2;
+            ticks = Arrays.copyOf(ticks, capacidad);
+            oleadas = Arrays.copyOf(oleadas, capacidad);
+            cantidades = Arrays.copyOf(cantidades, capacidad);
+            ticksSinOrden = Arrays.copyOf(ticksSinOrden, capacidad);
+            oleadasSinOrden = Arrays.copyOf(oleadasSinOrden, capacidad);
+            cantidadesSinOrden = Arrays.copyOf(cantidadesSinOrden, capacidad);
+            claves = Arrays.copyOf(claves, capacidad);
+        }
+        ticksSinOrden[rafagas] = tick;
+        oleadasSinOrden[rafagas] = oleada;
+        cantidadesSinOrden[rafagas] = cantidad;
+        rafagas++;
+    }
+
+    /**
+     * Agrega al almacén los enemigos de todas las ráfagas que salen hasta el
+     * tick indicado y todavía no salieron.
+     *
+     * @param tick tick de la ronda, contado desde 1
+     * @param enemigos almacén donde aparecen los enemigos
+     * @param azar generador de las posiciones de aparición
+     * @return cantidad de enemigos agregados
+     */
+    public int emitir(long tick, AlmacenEnemigos enemigos, GeneradorAzar azar) {
+        int agregados = 0;
+        while (cursor < rafagas && ticks[cursor] <= tick) {
+            int cantidad = cantidades[cursor];
+            int oleada = oleadas[cursor];
+            enemigos.reservar(cantidad);
+            ubicarRafaga(tabla.patron(oleada), cantidad, tabla.vidas(oleada), enemigos, azar);
+            agregados += cantidad;
+            cursor++;
+        }
+        creados += agregados;
+        return agregados;
+    }
+
+    private static void ubicarRafaga(TablaOleadas.Patron patron, int cantidad, int vidas,
+            AlmacenEnemigos enemigos, GeneradorAzar azar) {
+        float borde = PantallaJuego.WORLD_WIDTH - 100;
+        float altoLibre = PantallaJuego.WORLD_HEIGHT - AlmacenEnemigos.TAMANO;
+        switch (patron) {
+            case COLUMNA:
+                for (int i = 0; i < cantidad; i++) {
+                    enemigos.agregar(borde, altoLibre * (i + 0.5f) / cantidad, vidas);
+                }
+                break;
+            case FLECHA:
+                // La punta a una altura al azar y las alas alternando arriba y abajo, cada vez más atrás
+                float centro = azar.nextInt((int)altoLibre);
+                for (int i = 0; i < cantidad; i++) {
+                    int fila = (i + 1) / 2;
+                    float y = centro + ((i & 1) != 0 ? fila : -fila) * SEPARACION_FLECHA;
+                    enemigos.agregar(borde + fila * SEPARACION_FLECHA, Math.max(0, Math.min(altoLibre, y)), vidas);
+                }
+                break;
+            default:
+                for (int i = 0; i < cantidad; i++) {
+                    enemigos.agregar(borde + azar.nextInt(50), azar.nextInt((int)PantallaJuego.WORLD_HEIGHT), vidas);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Deja el cursor como si se hubieran emitido todas las ráfagas hasta el
+     * tick indicado, sin agregar enemigos. Sirve para retomar una ronda
+     * preparada de nuevo, por ejemplo al restaurar una {@link Instantanea}.
+     *
+     * @param tick último tick de la ronda ya simulado
+     */
+    public void ubicar(long tick) {
+        cursor = 0;
+        creados = 0;
+        while (cursor < rafagas && ticks[cursor] <= tick) {
+            creados += cantidades[cursor];
+            cursor++;
+        }
+    }
+
+    /**
+     * Indica si ya salieron todas las ráfagas de la ronda.
+     * @return true si no quedan enemigos por aparecer
+     */
+    public boolean isTerminado() {
+        return cursor == rafagas;
+    }
+
+    /**
+     * Obtiene cuántos enemigos aparecieron en la ronda.
+     * @return enemigos emitidos
+     */
+    public int getCreados() {
+        return creados;
+    }
+
+    /**
+     * Obtiene cuántos enemigos tiene la ronda en total.
+     * @return enemigos de todas las ráfagas
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Obtiene la cantidad de ráfagas de la ronda.
+     * @return ráfagas preparadas
+     */
+    public int getCantidadRafagas() {
+        return rafagas;
+    }
+}
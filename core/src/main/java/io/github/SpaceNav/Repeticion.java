@@ -0,0 +1,325 @@
+package io.github.SpaceNav;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+
+/**
+ * Grabación de una partida que permite volver a simularla tick a tick.
+ * <p>
+ * Como la {@link Simulacion} es determinista, basta con guardar las condiciones
+ * iniciales (semilla, ronda, vidas, score y enemigos), la {@link TablaOleadas}
+ * con que se jugó y las teclas de cada tick. La repetición se reproduce con su
+ * propia tabla, aunque el archivo de oleadas del juego haya cambiado.
+ * Las teclas se guardan comprimidas por tramos: cada tramo es una máscara de
+ * {@link FuenteEntrada} y la cantidad de ticks seguidos en que se repite, por lo
+ * que los largos períodos sin pulsaciones ocupan unos pocos bytes. Además se
+ * guarda el hash de {@link Simulacion#calcularHash()} al terminar cada ronda y
+ * al final, para verificar que la reproducción llega al mismo estado.
+ * </p>
+ * <p>
+ * Una partida retomada a mitad de una ronda empieza desde una {@link Instantanea},
+ * que se guarda completa después de las condiciones iniciales.
+ * </p>
+ * <p>
+ * Formato binario, con los enteros en big endian:
+ * <pre>
+ * "SNRP" versión:int
+ * semilla:long ronda:int vidas:int score:int enemigos:int
+ * oleadas: bytes:int texto UTF-8        (desde la versión 3; antes, la tabla clásica)
+ * conInstantanea:byte [instantánea]   (desde la versión 2)
+ * tramos:int { teclas:byte ticks:varint }*
+ * rondas:int { tick:long hash:long }*
+ * ticks:long scoreFinal:int hashFinal:long
+ * </pre>
+ * </p>
+ */
+public class Repeticion {
+
+    /** Primeros bytes de todo archivo de repetición: "SNRP". */
+    private static final int MAGICO = 0x534E5250;
+    private static final int VERSION = 3;
+
+    // Condiciones iniciales de la primera ronda
+    private final long semilla;
+    private final int ronda;
+    private final int vidas;
+    private final int score;
+    private final int cantEnemigos;
+    /** Tabla de oleadas de la partida. */
+    private final TablaOleadas oleadas;
+    /** Estado desde el que empieza la partida, o null si empieza al comienzo de la ronda. */
+    private final Instantanea inicio;
+
+    // Tramos de teclas: la máscara teclas[i] se repite durante ticksTramo[i] ticks
+    private final IntArray teclas = new IntArray();
+    private final IntArray ticksTramo = new IntArray();
+    /** Ticks grabados en total. */
+    private long ticks;
+
+    // Tick (contado desde el inicio de la partida) y hash al terminar cada ronda
+    private final LongArray ticksRonda = new LongArray();
+    private final LongArray hashesRonda = new LongArray();
+
+    private int scoreFinal;
+    private long hashFinal;
+
+    /**
+     * Crea una repetición vacía con las condiciones iniciales de la partida.
+     *
+     * @param semilla semilla de la primera ronda
+     * @param ronda número de la primera ronda
+     * @param vidas vidas iniciales del jugador
+     * @param score puntuación inicial
+     * @param cantEnemigos enemigos de la primera ronda
+     * @param oleadas tabla de oleadas de la partida
+     */
+    public Repeticion(long semilla, int ronda, int vidas, int score, int cantEnemigos, TablaOleadas oleadas) {
+        this.semilla = semilla;
+        this.ronda = ronda;
+        this.vidas = vidas;
+        this.score = score;
+        this.cantEnemigos = cantEnemigos;
+        this.oleadas = oleadas;
+        this.inicio = null;
+    }
+
+    /**
+     * Crea una repetición vacía de una partida que sigue desde una instantánea,
+     * con la tabla de oleadas de la instantánea.
+     * @param inicio estado desde el que empieza la partida; se copia
+     */
+    public Repeticion(Instantanea inicio) {
+        this.semilla = inicio.getSemilla();
+        this.ronda = inicio.getRonda();
+        this.vidas = inicio.getVidas();
+        this.score = inicio.getScore();
+        this.cantEnemigos = inicio.getCantEnemigos();
+        this.oleadas = inicio.getOleadas();
+        this.inicio = new Instantanea(inicio);
+    }
+
+    /**
+     * Crea la simulación de la primera ronda con las condiciones iniciales y
+     * la tabla de oleadas grabadas.
+     *
+     * @param entrada origen de las teclas; al grabar, un {@link GrabadorEntrada},
+     *                y al reproducir, un {@link ReproductorEntrada}
+     * @param oyente receptor de los eventos con sonido
+     * @return simulación lista para avanzar el primer tick
+     */
+    public Simulacion crearSimulacion(FuenteEntrada entrada, OyenteSimulacion oyente) {
+        if (inicio != null) return inicio.restaurar(entrada, oyente);
+        Simulacion sim = new Simulacion(ronda, vidas, score, cantEnemigos, entrada, oyente, semilla);
+        sim.setOleadas(oleadas);
+        return sim;
+    }
+
+    /**
+     * Agrega las teclas de un tick al final de la grabación.
+     * @param mascara teclas presionadas, con las constantes de {@link FuenteEntrada}
+     */
+    public void agregarTeclas(int mascara) {
+        int ultimo = teclas.size - 1;
+        if (ultimo >= 0 && teclas.get(ultimo) == mascara && ticksTramo.get(ultimo) < Integer.MAX_VALUE) {
+            ticksTramo.incr(ultimo, 1);
+        } else {
+            teclas.add(mascara);
+            ticksTramo.add(1);
+        }
+        ticks++;
+    }
+
+    /**
+     * Registra el final de una ronda con el estado de su simulación.
+     * @param sim simulación de la ronda que terminó
+     */
+    public void registrarRonda(Simulacion sim) {
+        ticksRonda.add(ticks);
+        hashesRonda.add(sim.calcularHash());
+    }
+
+    /**
+     * Registra el resultado final de la partida.
+     * @param sim simulación en su último tick grabado
+     */
+    public void terminar(Simulacion sim) {
+        scoreFinal = sim.getScore();
+        hashFinal = sim.calcularHash();
+    }
+
+    /**
+     * Escribe la repetición en formato binario.
+     *
+     * @param salida destino de los bytes; no se cierra
+     * @throws IOException si falla la escritura
+     */
+    public void escribir(OutputStream salida) throws IOException {
+        DataOutputStream datos = new DataOutputStream(salida);
+        datos.writeInt(MAGICO);
+        datos.writeInt(VERSION);
+        datos.writeLong(semilla);
+        datos.writeInt(ronda);
+        datos.writeInt(vidas);
+        datos.writeInt(score);
+        datos.writeInt(cantEnemigos);
+        oleadas.escribirTexto(datos);
+        datos.writeBoolean(inicio != null);
+        if (inicio != null) {
+            inicio.escribir(datos);
+        }
+
+        datos.writeInt(teclas.size);
+        for (int i = 0; i < teclas.size; i++) {
+            datos.writeByte(teclas.get(i));
+            escribirVarint(datos, ticksTramo.get(i));
+        }
+        datos.writeInt(ticksRonda.size);
+        for (int i = 0; i < ticksRonda.size; i++) {
+            datos.writeLong(ticksRonda.get(i));
+            datos.writeLong(hashesRonda.get(i));
+        }
+        datos.writeLong(ticks);
+        datos.writeInt(scoreFinal);
+        datos.writeLong(hashFinal);
+        datos.flush();
+    }
+
+    /**
+     * Lee una repetición escrita con {@link #escribir(OutputStream)}.
+     *
+     * @param entrada origen de los bytes; no se cierra
+     * @return la repetición leída
+     * @throws IOException si falla la lectura o los datos no son una repetición válida
+     */
+    public static Repeticion leer(InputStream entrada) throws IOException {
+        DataInputStream datos = new DataInputStream(entrada);
+        if (datos.readInt() != MAGICO) {
+            throw new IOException("No es un archivo de repetición");
+        }
+        int version = datos.readInt();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Versión de repetición no soportada: " + version);
+        }
+        long semilla = datos.readLong();
+        int ronda = datos.readInt();
+        int vidas = datos.readInt();
+        int score = datos.readInt();
+        int cantEnemigos = datos.readInt();
+        // Antes de la versión 3 los enemigos aparecían siempre como en la tabla clásica
+        TablaOleadas oleadas = version >= 3 ? TablaOleadas.leerTexto(datos) : TablaOleadas.CLASICA;
+        // La versión 1 no admitía instantáneas
+        Repeticion repeticion = version >= 2 && datos.readBoolean()
+                ? new Repeticion(Instantanea.leer(datos))
+                : new Repeticion(semilla, ronda, vidas, score, cantEnemigos, oleadas);
+
+        int tramos = datos.readInt();
+        for (int i = 0; i < tramos; i++) {
+            repeticion.teclas.add(datos.readUnsignedByte());
+            int cantidad = leerVarint(datos);
+            repeticion.ticksTramo.add(cantidad);
+            repeticion.ticks += cantidad;
+        }
+        int rondas = datos.readInt();
+        for (int i = 0; i < rondas; i++) {
+            repeticion.ticksRonda.add(datos.readLong());
+            repeticion.hashesRonda.add(datos.readLong());
+        }
+        if (datos.readLong() != repeticion.ticks) {
+            throw new IOException("La cantidad de ticks no coincide con los tramos grabados");
+        }
+        repeticion.scoreFinal = datos.readInt();
+        repeticion.hashFinal = datos.readLong();
+        return repeticion;
+    }
+
+    /** Escribe un entero no negativo en 7 bits por byte; el bit alto indica que siguen más bytes. */
+    private static void escribirVarint(DataOutputStream datos, int valor) throws IOException {
+        while ((valor & ~0x7F) != 0) {
+            datos.writeByte((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        datos.writeByte(valor);
+    }
+
+    private static int leerVarint(DataInputStream datos) throws IOException {
+        int valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 32; desplazamiento += 7) {
+            int b = datos.readUnsignedByte();
+            valor |= (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) return valor;
+        }
+        throw new IOException("Varint mal formado");
+    }
+
+    int getCantidadTramos() {
+        return teclas.size;
+    }
+
+    int getTeclasTramo(int i) {
+        return teclas.get(i);
+    }
+
+    int getTicksTramo(int i) {
+        return ticksTramo.get(i);
+    }
+
+    /**
+     * Obtiene la cantidad de ticks grabados.
+     * @return ticks de toda la partida
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Obtiene la cantidad de rondas terminadas durante la grabación.
+     * @return rondas con hash registrado
+     */
+    public int getCantidadRondas() {
+        return ticksRonda.size;
+    }
+
+    /**
+     * Obtiene el tick, contado desde el inicio de la partida, en que terminó una ronda.
+     * @param i índice de la ronda terminada, desde 0
+     * @return ticks grabados hasta el final de esa ronda
+     */
+    public long getTickRonda(int i) {
+        return ticksRonda.get(i);
+    }
+
+    /**
+     * Obtiene el hash del estado al terminar una ronda.
+     * @param i índice de la ronda terminada, desde 0
+     * @return hash de {@link Simulacion#calcularHash()}
+     */
+    public long getHashRonda(int i) {
+        return hashesRonda.get(i);
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Obtiene la tabla de oleadas con que se jugó la partida.
+     * @return tabla de oleadas de la repetición
+     */
+    public TablaOleadas getOleadas() {
+        return oleadas;
+    }
+
+    public int getScoreFinal() {
+        return scoreFinal;
+    }
+
+    public long getHashFinal() {
+        return hashFinal;
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.SpaceNav;
+
+/**
+ * {@link FuenteEntrada} que entrega, tick a tick, las teclas grabadas en una
+ * {@link Repeticion}. Una misma instancia recorre todas las rondas de la
+ * partida; cuando se acaban las teclas grabadas entrega 0.
+ */
+public class ReproductorEntrada implements FuenteEntrada {
+
+    /** Repetición que se reproduce. */
+    private final Repeticion repeticion;
+
+    /** Tramo en curso. */
+    private int tramo;
+
+    /** Ticks ya entregados del tramo en curso. */
+    private int usados;
+
+    /**
+     * Crea un reproductor posicionado al principio de la repetición.
+     * @param repeticion repetición a reproducir
+     */
+    public ReproductorEntrada(Repeticion repeticion) {
+        this.repeticion = repeticion;
+    }
+
+    /**
+     * Entrega las teclas del siguiente tick grabado.
+     *
+     * @param sim simulación en curso (no se usa)
+     * @return máscara de bits con las teclas grabadas, o 0 si la repetición terminó
+     */
+    @Override
+    public int leerTeclas(Simulacion sim) {
+        if (tramo >= repeticion.getCantidadTramos()) return 0;
+
+        int teclas = repeticion.getTeclasTramo(tramo);
+        if (++usados == repeticion.getTicksTramo(tramo)) {
+            tramo++;
+            usados = 0;
+        }
+        return teclas;
+    }
+}
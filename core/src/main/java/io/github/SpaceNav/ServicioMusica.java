@@ -0,0 +1,168 @@
+package io.github.SpaceNav;
+
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Reproduce la música de fondo de todas las pantallas. Pertenece a
+ * {@link SpaceNavigation}, así que la música no depende de la vida de cada
+ * pantalla.
+ * <p>
+ * Las pantallas piden su pista con {@link #reproducir} al mostrarse. Si ya es
+ * la que está sonando, sigue sin cortes, así que volver a mostrar una pantalla
+ * no reinicia su música. Si es otra, la nueva entra mientras la anterior se
+ * apaga, en un fundido cruzado de {@link #DURACION_FUNDIDO} segundos.
+ * </p>
+ * <p>
+ * Las pistas se obtienen de {@link GestorRecursos}, que las lee como
+ * {@link Music}, o sea, decodificándolas de a partes mientras suenan. La del
+ * juego se distribuye en Ogg Vorbis, generado desde el WAV original por la
+ * tarea {@code encodeMusic}.
+ * </p>
+ */
+public class ServicioMusica implements Disposable {
+
+    /** Duración del fundido cruzado entre dos pistas, en segundos. */
+    public static final float DURACION_FUNDIDO = 1.5f;
+
+    private final GestorRecursos recursos;
+
+    // Pista que suena, o que está entrando, y el volumen que debe alcanzar
+    private String rutaActual;
+    private Music actual;
+    private float volumenActual;
+
+    // Pista que se está apagando y el volumen desde el que empezó a bajar
+    private String rutaSaliente;
+    private Music saliente;
+    private float volumenSaliente;
+
+    /** Avance del fundido en curso, de 0 a 1; vale 1 si no hay fundido. */
+    private float fundido = 1f;
+
+    /** Indica si la aplicación está en pausa. */
+    private boolean pausado;
+
+    /**
+     * Crea el servicio, sin ninguna pista sonando.
+     * @param recursos registro del que se obtienen las pistas
+     */
+    public ServicioMusica(GestorRecursos recursos) {
+        this.recursos = recursos;
+    }
+
+    /**
+     * Hace sonar una pista. Si ya está sonando solo se ajustan volumen y
+     * repetición; si no, entra con un fundido cruzado sobre la anterior.
+     *
+     * @param ruta ruta de la pista dentro de assets
+     * @param volumen volumen final, entre 0 y 1
+     * @param enBucle true para repetirla al terminar
+     */
+    public void reproducir(String ruta, float volumen, boolean enBucle) {
+        if (ruta.equals(rutaActual)) {
+            volumenActual = volumen;
+            actual.setLooping(enBucle);
+            if (fundido >= 1f) {
+                actual.setVolume(volumen);
+            }
+            return;
+        }
+
+        // Si ya había un fundido, la pista que salía se corta y sale la que entraba
+        soltarSaliente();
+        if (actual != null) {
+            rutaSaliente = rutaActual;
+            saliente = actual;
+            volumenSaliente = actual.getVolume();
+        }
+
+        rutaActual = ruta;
+        actual = recursos.obtener(ruta, Music.class);
+        volumenActual = volumen;
+        actual.setLooping(enBucle);
+        fundido = 0f;
+        actual.setVolume(0f);
+        if (!pausado) {
+            actual.play();
+        }
+    }
+
+    /**
+     * Avanza el fundido cruzado en curso. Se llama una vez por frame.
+     * @param delta tiempo transcurrido desde el frame anterior, en segundos
+     */
+    public void actualizar(float delta) {
+        if (fundido >= 1f || pausado) return;
+
+        fundido = Math.min(1f, fundido + delta / DURACION_FUNDIDO);
+        actual.setVolume(volumenActual * fundido);
+        if (saliente != null) {
+            saliente.setVolume(volumenSaliente * (1f - fundido));
+        }
+        if (fundido >= 1f) {
+            soltarSaliente();
+        }
+    }
+
+    /** Detiene la pista que se estaba apagando y la devuelve al registro. */
+    private void soltarSaliente() {
+        if (saliente == null) return;
+        saliente.stop();
+        recursos.liberar(rutaSaliente);
+        saliente = null;
+        rutaSaliente = null;
+    }
+
+    /**
+     * Pausa la música, por ejemplo al minimizar la ventana.
+     */
+    public void pausar() {
+        pausado = true;
+        if (actual != null) actual.pause();
+        if (saliente != null) saliente.pause();
+    }
+
+    /**
+     * Reanuda la música pausada con {@link #pausar()}. Una pista sin repetición
+     * que ya terminó no vuelve a empezar.
+     */
+    public void reanudar() {
+        if (!pausado) return;
+        pausado = false;
+        if (saliente != null) saliente.play();
+        if (actual != null && (actual.isLooping() || actual.getPosition() > 0)) {
+            actual.play();
+        }
+    }
+
+    /**
+     * Obtiene la ruta de la pista que suena o está entrando.
+     * @return ruta dentro de assets, o null si no suena ninguna
+     */
+    public String getPistaActual() {
+        return rutaActual;
+    }
+
+    /**
+     * Indica si hay un fundido cruzado en curso.
+     * @return true mientras la pista anterior se está apagando
+     */
+    public boolean isFundiendo() {
+        return fundido < 1f;
+    }
+
+    /**
+     * Detiene toda la música y devuelve las pistas al registro.
+     */
+    @Override
+    public void dispose() {
+        soltarSaliente();
+        if (actual != null) {
+            actual.stop();
+            recursos.liberar(rutaActual);
+            actual = null;
+            rutaActual = null;
+        }
+    }
+}
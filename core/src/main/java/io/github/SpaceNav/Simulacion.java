@@ -0,0 +1,493 @@
+package io.github.SpaceNav;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Lógica de una ronda del juego, separada de los gráficos y del audio.
+ * <p>
+ * Una misma simulación sirve para todas las rondas de una partida, e incluso
+ * para partidas sucesivas: {@link #reiniciar} vuelve al comienzo de una ronda
+ * conservando almacenes, pools y sistemas, así que empezar una ronda no crea
+ * objetos ni pierde la capacidad ya reservada. {@link GestorRondas} la usa
+ * para pasar a la ronda siguiente.
+ * </p>
+ * <p>
+ * Contiene todas las entidades (jugador, enemigos, balas y power-ups), el
+ * {@link ProgramadorOleadas} que hace aparecer a los enemigos, el
+ * {@link GestorColisiones} y el {@link GestorRondas}. Avanza un tick fijo por cada llamada a {@link #paso()}
+ * y no usa {@code Gdx.gl}, {@code Gdx.audio} ni texturas, por lo que puede
+ * ejecutarse sin ventana (por ejemplo, para pruebas de carga o perfilado).
+ * </p>
+ * <p>
+ * La entrada del jugador llega por una {@link FuenteEntrada} y los eventos que
+ * requieren sonido se informan a un {@link OyenteSimulacion}.
+ * {@link PantallaJuego} dibuja el estado de la simulación.
+ * </p>
+ * <p>
+ * Todo el azar sale de una semilla: con la misma semilla y las mismas teclas
+ * en cada tick, la simulación evoluciona exactamente igual. Esto permite
+ * grabar una partida en una {@link Repeticion} y volver a simularla, y también
+ * guardar el estado a mitad de una ronda en una {@link Instantanea} y retomarlo.
+ * </p>
+ */
+public class Simulacion {
+
+    /** Ticks de simulación por segundo; velocidades y temporizadores se expresan en ticks. */
+    public static final int TICKS_POR_SEGUNDO = 60;
+    /** Duración de un tick de simulación, en segundos. */
+    public static final float PASO = 1f / TICKS_POR_SEGUNDO;
+    /** Duración de la transición entre rondas, en ticks. */
+    public static final int TICKS_TRANSICION = 3 * TICKS_POR_SEGUNDO;
+
+    private final OyenteSimulacion oyente;
+    private int score;
+    private int ronda;
+    private int cantEnemigos;
+
+    // Entidades del juego; enemigos y balas se guardan como arreglos paralelos
+    private NaveJugador nave;
+    private AlmacenEnemigos enemigos = new AlmacenEnemigos();
+    private AlmacenBalas balas = new AlmacenBalas();
+    /** Power-ups activos en pantalla. */
+    private BolsaEntidades<PowerUp> powerUps = new BolsaEntidades<>();
+    /** Semilla de la que se derivan todos los generadores de la ronda. */
+    private long semilla;
+    /** Generador de las semillas de la ronda; se vuelve a sembrar en cada ronda. */
+    private final Random semillas = new Random();
+    /** Generador de la posición de aparición de los enemigos. */
+    private final GeneradorAzar randomAparicion = new GeneradorAzar(0);
+    /** Generador del tipo de power-up que suelta un enemigo destruido. */
+    private final GeneradorAzar randomPowerUps = new GeneradorAzar(0);
+    /** Semilla de la ronda siguiente, derivada de la de esta ronda. */
+    private long semillaSiguiente;
+
+    /** Pool de power-ups: los eliminados se reutilizan en lugar de crear nuevos. */
+    private final Pool<PowerUp> poolPowerUps = new Pool<PowerUp>() {
+        @Override
+        protected PowerUp newObject() {
+            return new PowerUp();
+        }
+    };
+
+    /** Aparición de los enemigos en oleadas; por defecto, {@link TablaOleadas#CLASICA}. */
+    private final ProgramadorOleadas oleadas = new ProgramadorOleadas();
+    private SistemaActualizacion sistemaActualizacion;
+    private GestorColisiones gestorColisiones;
+    private GestorRondas gestorRondas;
+    private boolean rondaCompletada = false;
+    private boolean juegoTerminado = false;
+    private int ticksTransicion = 0;
+    private long ticks = 0;
+    /** Mide el tiempo de cada fase del tick; por defecto no registra nada. */
+    private Perfilador perfilador = Perfilador.NULO;
+
+    /**
+     * Crea la simulación de una ronda con una semilla al azar.
+     *
+     * @param ronda número actual de la ronda.
+     * @param vidas cantidad de vidas del jugador.
+     * @param score puntuación acumulada.
+     * @param cantEnemigos cantidad de enemigos que aparecerán en la ronda.
+     * @param entrada origen de las teclas del jugador.
+     * @param oyente receptor de los eventos con sonido.
+     */
+    public Simulacion(int ronda, int vidas, int score, int cantEnemigos,
+            FuenteEntrada entrada, OyenteSimulacion oyente) {
+        this(ronda, vidas, score, cantEnemigos, entrada, oyente, new Random().nextLong());
+    }
+
+    /**
+     * Crea la simulación de una ronda.
+     *
+     * @param ronda número actual de la ronda.
+     * @param vidas cantidad de vidas del jugador.
+     * @param score puntuación acumulada.
+     * @param cantEnemigos cantidad de enemigos que aparecerán en la ronda.
+     * @param entrada origen de las teclas del jugador.
+     * @param oyente receptor de los eventos con sonido.
+     * @param semilla semilla de la que se deriva todo el azar de la ronda.
+     */
+    public Simulacion(int ronda, int vidas, int score, int cantEnemigos,
+            FuenteEntrada entrada, OyenteSimulacion oyente, long semilla) {
+        this.oyente = oyente;
+
+        sistemaActualizacion = new SistemaActualizacion();
+        gestorColisiones = new GestorColisiones();
+        gestorRondas = new GestorRondas();
+
+        // Crear nave del jugador
+        nave = new NaveJugador(30, PantallaJuego.WORLD_HEIGHT / 2 - 50, entrada, oyente);
+        reiniciar(ronda, vidas, score, cantEnemigos, semilla);
+    }
+
+    /**
+     * Vuelve al comienzo de una ronda con las condiciones indicadas, como si la
+     * simulación se acabara de crear con ellas: retira todas las entidades,
+     * devuelve la nave del jugador a su posición inicial y vuelve a sembrar el
+     * azar. Conserva almacenes, pools, sistemas, configuración, tabla de
+     * oleadas y perfilador.
+     *
+     * @param ronda número de la ronda.
+     * @param vidas cantidad de vidas del jugador.
+     * @param score puntuación acumulada.
+     * @param cantEnemigos cantidad de enemigos que aparecerán en la ronda.
+     * @param semilla semilla de la que se deriva todo el azar de la ronda.
+     */
+    public void reiniciar(int ronda, int vidas, int score, int cantEnemigos, long semilla) {
+        this.ronda = ronda;
+        this.score = score;
+        this.cantEnemigos = cantEnemigos;
+        this.rondaCompletada = false;
+        this.juegoTerminado = false;
+        this.ticksTransicion = 0;
+        this.ticks = 0;
+
+        // Cada uso del azar tiene su propio generador: cambiar cuántos números
+        // pide uno no altera la secuencia de los demás
+        this.semilla = semilla;
+        semillas.setSeed(semilla);
+        randomAparicion.setSeed(semillas.nextLong());
+        randomPowerUps.setSeed(semillas.nextLong());
+        semillaSiguiente = semillas.nextLong();
+
+        enemigos.limpiar();
+        balas.limpiar();
+        powerUps.limpiar(poolPowerUps);
+        nave.reiniciar(30, PantallaJuego.WORLD_HEIGHT / 2 - 50, vidas);
+        oleadas.preparar(ronda, cantEnemigos);
+    }
+
+    /**
+     * Avanza la simulación un tick: aparición de enemigos, movimiento
+     * de todas las entidades, colisiones y estado de la ronda.
+     * No hace nada si el juego ya terminó.
+     */
+    public void paso() {
+        if (juegoTerminado) return;
+        ticks++;
+        long t = perfilador.marca();
+
+        oleadas.emitir(ticks, enemigos, randomAparicion);
+        t = perfilador.registrar(Perfilador.Fase.APARICION, t);
+
+        nave.update(this);
+        t = perfilador.registrar(Perfilador.Fase.JUGADOR, t);
+
+        sistemaActualizacion.actualizarBalas(balas);
+        t = perfilador.registrar(Perfilador.Fase.BALAS, t);
+        sistemaActualizacion.actualizarEnemigos(enemigos, nave);
+        t = perfilador.registrar(Perfilador.Fase.ENEMIGOS, t);
+
+        for (int i = 0; i < powerUps.tamano(); i++) {
+            powerUps.obtener(i).update();
+        }
+        compactarEntidades();
+        t = perfilador.registrar(Perfilador.Fase.POWER_UPS, t);
+
+        gestorColisiones.manejarColisiones(nave, enemigos, balas, powerUps, this);
+        compactarEntidades();
+        t = perfilador.registrar(Perfilador.Fase.COLISIONES, t);
+
+        if (rondaCompletada) {
+            ticksTransicion++;
+        }
+        gestorRondas.manejarRondas(this, nave, oleadas.getCreados(), oleadas.getTotal());
+        perfilador.registrar(Perfilador.Fase.RONDAS, t);
+        perfilador.contarTick();
+    }
+
+    /**
+     * Pasa a la ronda siguiente en esta misma simulación, con las condiciones
+     * que decide {@link GestorRondas#iniciarSiguienteRonda(Simulacion)}.
+     * Se llama cuando {@link #isTransicionTerminada()} es true.
+     */
+    public void siguienteRonda() {
+        gestorRondas.iniciarSiguienteRonda(this);
+    }
+
+    /**
+     * Calcula un hash de todo el estado que influye en los ticks siguientes:
+     * contadores de la ronda, nave del jugador, enemigos, balas y power-ups.
+     * Dos simulaciones con el mismo hash están, salvo colisiones del hash, en el
+     * mismo estado; sirve para verificar que una {@link Repeticion} se reproduce igual.
+     *
+     * @return hash del estado actual
+     */
+    public long calcularHash() {
+        long h = mezclar(0, ticks);
+        h = mezclar(h, score);
+        h = mezclar(h, ronda);
+        h = mezclar(h, oleadas.getCreados());
+        h = mezclar(h, ticksTransicion);
+        h = mezclar(h, (rondaCompletada ? 1 : 0) | (juegoTerminado ? 2 : 0));
+
+        h = mezclar(h, nave.getX());
+        h = mezclar(h, nave.getY());
+        h = mezclar(h, nave.getXVel());
+        h = mezclar(h, nave.getYVel());
+        h = mezclar(h, nave.getVidas());
+        h = mezclar(h, nave.tiempoHerido);
+        h = mezclar(h, (nave.estaHerido() ? 1 : 0) | (nave.estaDestruido() ? 2 : 0));
+
+        h = mezclar(h, enemigos.tamano());
+        for (int i = 0; i < enemigos.tamano(); i++) {
+            h = mezclar(h, enemigos.x[i]);
+            h = mezclar(h, enemigos.y[i]);
+            h = mezclar(h, enemigos.xVel[i]);
+            h = mezclar(h, enemigos.yVel[i]);
+            h = mezclar(h, enemigos.vidas[i]);
+            h = mezclar(h, enemigos.tiempoHerido[i]);
+            h = mezclar(h, enemigos.banderas[i]);
+        }
+        h = mezclar(h, balas.tamano());
+        for (int i = 0; i < balas.tamano(); i++) {
+            h = mezclar(h, balas.x[i]);
+            h = mezclar(h, balas.y[i]);
+            h = mezclar(h, balas.xVel[i]);
+            h = mezclar(h, balas.yVel[i]);
+        }
+        h = mezclar(h, powerUps.tamano());
+        for (int i = 0; i < powerUps.tamano(); i++) {
+            PowerUp p = powerUps.obtener(i);
+            h = mezclar(h, p.getX());
+            h = mezclar(h, p.getY());
+            h = mezclar(h, p.getTipo().ordinal());
+        }
+        return h;
+    }
+
+    /**
+     * Calcula cuántos bytes ocupa el estado en una {@link Instantanea}.
+     * @return bytes que escribe {@link #escribirEstado(ByteBuffer)}
+     */
+    int bytesEstado() {
+        return 8 + 2 * 4 + 2 * 8 + NaveBase.BYTES_ESTADO
+                + 4 + enemigos.tamano() * AlmacenEnemigos.BYTES_POR_NAVE
+                + 4 + balas.tamano() * AlmacenBalas.BYTES_POR_BALA
+                + 4 + powerUps.tamano() * PowerUp.BYTES_ESTADO;
+    }
+
+    /**
+     * Escribe en una {@link Instantanea} todo el estado que cambia durante la
+     * ronda; las condiciones iniciales (semilla, ronda, score, enemigos) las
+     * escribe la instantánea. Las oleadas no se escriben: qué ráfagas ya
+     * salieron se deduce del tick.
+     *
+     * @param destino buffer con al menos {@link #bytesEstado()} bytes libres
+     */
+    void escribirEstado(ByteBuffer destino) {
+        destino.putLong(ticks);
+        destino.putInt(ticksTransicion);
+        destino.putInt((rondaCompletada ? 1 : 0) | (juegoTerminado ? 2 : 0));
+        destino.putLong(randomAparicion.getEstado());
+        destino.putLong(randomPowerUps.getEstado());
+
+        nave.escribirEstado(destino);
+        enemigos.escribirEstado(destino);
+        balas.escribirEstado(destino);
+        destino.putInt(powerUps.tamano());
+        for (int i = 0; i < powerUps.tamano(); i++) {
+            powerUps.obtener(i).escribirEstado(destino);
+        }
+    }
+
+    /**
+     * Reemplaza el estado de la ronda por uno escrito con {@link #escribirEstado(ByteBuffer)}.
+     * @param origen buffer posicionado al comienzo del estado
+     */
+    void leerEstado(ByteBuffer origen) {
+        ticks = origen.getLong();
+        oleadas.ubicar(ticks);
+        ticksTransicion = origen.getInt();
+        int banderas = origen.getInt();
+        rondaCompletada = (banderas & 1) != 0;
+        juegoTerminado = (banderas & 2) != 0;
+        randomAparicion.setEstado(origen.getLong());
+        randomPowerUps.setEstado(origen.getLong());
+
+        nave.leerEstado(origen);
+        enemigos.leerEstado(origen);
+        balas.leerEstado(origen);
+        powerUps.limpiar(poolPowerUps);
+        int cantidadPowerUps = origen.getInt();
+        for (int i = 0; i < cantidadPowerUps; i++) {
+            PowerUp p = poolPowerUps.obtain();
+            p.leerEstado(origen);
+            powerUps.agregar(p);
+        }
+    }
+
+    private static long mezclar(long h, float valor) {
+        return mezclar(h, Float.floatToIntBits(valor));
+    }
+
+    /** Combina un valor con el hash acumulado (multiplicación y mezcla al estilo de SplitMix64). */
+    private static long mezclar(long h, long valor) {
+        h = (h ^ valor) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 31);
+    }
+
+    /**
+     * Retira de una sola pasada las entidades marcadas como destruidas;
+     * los power-ups vuelven a su pool.
+     */
+    private void compactarEntidades() {
+        balas.compactar();
+        enemigos.compactar();
+        powerUps.compactar(PowerUp::isDestroyed, poolPowerUps);
+    }
+
+    /**
+     * Incrementa la puntuación del jugador.
+     * @param cantidad puntos a añadir al marcador actual.
+     */
+    public void incrementarScore(int cantidad) {
+        score += cantidad;
+    }
+
+    /**
+     * Registra la destrucción de una nave enemiga por una bala: suma puntaje,
+     * avisa al oyente e intenta soltar un power-up.
+     * @param x posición X de la nave enemiga destruida.
+     * @param y posición Y de la nave enemiga destruida.
+     */
+    public void enemigoDestruido(float x, float y) {
+        oyente.alDestruirEnemigo(x, y);
+        incrementarScore(10);
+        soltarPowerUp(x, y);
+    }
+
+    /**
+     * Genera un Power-Up en una posición determinada tras la destrucción de un enemigo.
+     * @param x posición X donde aparece el Power-Up.
+     * @param y posición Y donde aparece el Power-Up.
+     */
+    public void soltarPowerUp(float x, float y) {
+        PowerUp p = poolPowerUps.obtain();
+        if (randomPowerUps.nextBoolean()) {
+            p.init(x, y, TipoPowerUp.VIDA);
+        } else {
+            p.init(x, y, TipoPowerUp.ESCUDO);
+        }
+        powerUps.agregar(p);
+    }
+
+    public boolean isRondaCompletada() {
+        return rondaCompletada;
+    }
+
+    public void setRondaCompletada(boolean valor) {
+        this.rondaCompletada = valor;
+    }
+
+    /**
+     * Indica si ya pasó la transición posterior a completar la ronda,
+     * momento en que debe comenzar la siguiente.
+     * @return true si la siguiente ronda debe comenzar.
+     */
+    public boolean isTransicionTerminada() {
+        return rondaCompletada && ticksTransicion >= TICKS_TRANSICION;
+    }
+
+    public boolean isJuegoTerminado() {
+        return juegoTerminado;
+    }
+
+    public void setJuegoTerminado(boolean valor) {
+        this.juegoTerminado = valor;
+    }
+
+    public NaveJugador getNave() {
+        return nave;
+    }
+
+    public AlmacenEnemigos getEnemigos() {
+        return enemigos;
+    }
+
+    public AlmacenBalas getBalas() {
+        return balas;
+    }
+
+    public BolsaEntidades<PowerUp> getPowerUps() {
+        return powerUps;
+    }
+
+    public SistemaActualizacion getSistemaActualizacion() {
+        return sistemaActualizacion;
+    }
+
+    /**
+     * Cambia la tabla de la que salen las oleadas de enemigos. La ronda en
+     * curso se vuelve a calcular con la tabla nueva y sigue desde el tick
+     * actual. Una {@link Repeticion} y una {@link Instantanea} ya crean la
+     * simulación con la tabla con que se grabaron; asignarle otra cambia
+     * cuándo aparecen los enemigos que faltan.
+     *
+     * @param tabla tabla de oleadas a usar en esta y en las próximas rondas
+     */
+    public void setOleadas(TablaOleadas tabla) {
+        oleadas.setTabla(tabla);
+        oleadas.preparar(ronda, cantEnemigos);
+        oleadas.ubicar(ticks);
+    }
+
+    /**
+     * Obtiene el programador que hace aparecer a los enemigos de la ronda.
+     * @return ProgramadorOleadas de la simulación
+     */
+    public ProgramadorOleadas getOleadas() {
+        return oleadas;
+    }
+
+    /**
+     * Asigna el perfilador que mide las fases de cada tick.
+     * @param perfilador perfilador a usar, o {@link Perfilador#NULO} para no medir
+     */
+    public void setPerfilador(Perfilador perfilador) {
+        this.perfilador = perfilador;
+    }
+
+    public GestorColisiones getGestorColisiones() {
+        return gestorColisiones;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getRonda() {
+        return ronda;
+    }
+
+    public int getCantEnemigos() {
+        return cantEnemigos;
+    }
+
+    /**
+     * Obtiene la semilla con la que se creó esta ronda.
+     * @return semilla de la ronda
+     */
+    public long getSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Obtiene la semilla de la ronda siguiente, derivada de la de esta ronda.
+     * @return semilla de la ronda siguiente
+     */
+    public long getSemillaSiguiente() {
+        return semillaSiguiente;
+    }
+
+    /**
+     * Obtiene la cantidad de ticks simulados desde el inicio de la ronda.
+     * @return ticks simulados
+     */
+    public long getTicks() {
+        return ticks;
+    }
+}
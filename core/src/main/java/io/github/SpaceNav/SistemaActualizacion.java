@@ -0,0 +1,350 @@
+package io.github.SpaceNav;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Sistema que avanza un tick el movimiento de las naves enemigas y de las
+ * balas recorriendo los arreglos de {@link AlmacenEnemigos} y {@link AlmacenBalas}.
+ * <p>
+ * Las naves enemigas persiguen al {@link Objetivo} siguiendo un
+ * {@link CampoFlujo}, que se recalcula solo cuando el objetivo cambia de celda,
+ * así que la persecución cuesta una consulta por nave. A la vez se separan de
+ * sus vecinas más cercanas, como en un comportamiento de bandada: cada nave
+ * consulta una {@link GrillaVecinos} armada con las posiciones del tick, toma
+ * como mucho {@link #VECINOS_MAXIMOS} vecinas a menos de
+ * {@link #RADIO_SEPARACION} y suma a su dirección de persecución un empuje
+ * que las aleja, más fuerte cuanto más cerca están. Como la grilla tiene cupo
+ * por celda, el costo por nave queda acotado aunque se amontonen, y el tick
+ * crece en forma lineal con la cantidad de naves.
+ * </p>
+ * <p>
+ * El tick se procesa en dos fases: primero cada nave calcula su velocidad
+ * leyendo solo posiciones, y después todas se mueven. Cada nave escribe
+ * únicamente sus propias posiciones de los arreglos, así que con muchas naves
+ * cada fase se reparte entre los hilos de un {@link ForkJoinPool}. Por debajo de
+ * {@link #UMBRAL_PARALELO} naves el costo de repartir supera la ganancia y la
+ * actualización es secuencial. Ambos caminos ejecutan exactamente las mismas
+ * operaciones sobre cada nave, por lo que el resultado es idéntico.
+ * </p>
+ */
+public class SistemaActualizacion {
+
+    /** Cantidad mínima de naves enemigas para repartir la actualización entre hilos. */
+    public static final int UMBRAL_PARALELO = 4096;
+
+    /** Naves por tarea; los rangos más grandes se dividen en dos. */
+    private static final int NAVES_POR_TAREA = 1024;
+
+    /** Distancia entre centros por debajo de la cual una nave empuja a otra: una nave de lado. */
+    public static final float RADIO_SEPARACION = AlmacenEnemigos.TAMANO;
+
+    /** Cantidad máxima de vecinas, las más cercanas, que empujan a cada nave. */
+    public static final int VECINOS_MAXIMOS = 6;
+
+    /** Peso del empuje de separación frente a la dirección de persecución, que vale 1. */
+    public static final float PESO_SEPARACION = 1.5f;
+
+    /**
+     * Indica si se usa el camino paralelo para muchas naves.
+     * Se puede forzar el camino secuencial al iniciar con {@code -Dspacenav.secuencial=true}.
+     */
+    private boolean paralelo = !Boolean.getBoolean("spacenav.secuencial");
+
+    /** Hilos que ejecutan la actualización paralela. */
+    private final ForkJoinPool pool;
+
+    /** Naves enemigas indexadas con las posiciones del comienzo del tick, para buscar vecinas. */
+    private final GrillaVecinos vecindario = new GrillaVecinos(RADIO_SEPARACION);
+
+    /** Dirección de persecución en cada zona del mundo, según la celda del objetivo. */
+    private final CampoFlujo campo = new CampoFlujo();
+
+    /** Buffers de cada tramo de naves; se reutilizan entre ticks. */
+    private final Array<Vecinos> tramos = new Array<>();
+
+    /**
+     * Crea el sistema usando el pool común de la JVM para la actualización paralela.
+     */
+    public SistemaActualizacion() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crea el sistema usando el pool indicado para la actualización paralela.
+     *
+     * @param pool hilos que ejecutan la actualización paralela
+     */
+    public SistemaActualizacion(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Actualiza todas las naves enemigas: descuenta el tiempo de herida y
+     * las mueve a {@link AlmacenEnemigos#VELOCIDAD} hacia el objetivo,
+     * desviadas por el empuje de sus vecinas.
+     * Si el objetivo fue destruido, las naves se quedan quietas.
+     *
+     * @param enemigos naves a actualizar
+     * @param objetivo objetivo que persiguen, normalmente el jugador
+     */
+    public void actualizarEnemigos(AlmacenEnemigos enemigos, Objetivo objetivo) {
+        boolean persigue = objetivo != null && !objetivo.estaDestruido();
+        float objetivoX = persigue ? objetivo.getX() : 0;
+        float objetivoY = persigue ? objetivo.getY() : 0;
+        int n = enemigos.tamano();
+
+        if (persigue) {
+            campo.actualizar(objetivoX, objetivoY);
+            vecindario.reconstruir(enemigos.x, enemigos.y, AlmacenEnemigos.TAMANO, n);
+        }
+        if (paralelo && n >= UMBRAL_PARALELO) {
+            int usados = (n + NAVES_POR_TAREA - 1) / NAVES_POR_TAREA;
+            for (int t = 0; t < usados; t++) {
+                tramo(t); // los buffers se crean antes de repartir
+            }
+            // Todas las velocidades se calculan antes de que alguna nave se mueva
+            if (persigue) {
+                pool.invoke(new TareaEnemigos(false, enemigos, true, objetivoX, objetivoY, n, 0, usados));
+            }
+            pool.invoke(new TareaEnemigos(true, enemigos, persigue, objetivoX, objetivoY, n, 0, usados));
+        } else {
+            if (persigue) {
+                dirigirEnemigos(enemigos, objetivoX, objetivoY, 0, n, tramo(0));
+            }
+            moverEnemigos(enemigos, persigue, 0, n);
+        }
+    }
+
+    /**
+     * Obtiene el buffer del tramo indicado, creándolo si todavía no existe.
+     */
+    private Vecinos tramo(int indice) {
+        while (tramos.size <= indice) {
+            tramos.add(new Vecinos());
+        }
+        return tramos.get(indice);
+    }
+
+    /**
+     * Calcula la velocidad de las naves del rango {@code [desde, hasta)}: la
+     * dirección del campo de flujo más el empuje de separación, con el largo de
+     * {@link AlmacenEnemigos#VELOCIDAD}. Solo lee posiciones y solo escribe las
+     * velocidades del rango, por lo que rangos disjuntos pueden calcularse a la vez.
+     */
+    private void dirigirEnemigos(AlmacenEnemigos enemigos, float objetivoX, float objetivoY,
+            int desde, int hasta, Vecinos vecinos) {
+        float[] x = enemigos.x, y = enemigos.y;
+        float[] xVel = enemigos.xVel, yVel = enemigos.yVel;
+        float[] campoX = campo.direccionX, campoY = campo.direccionY;
+        boolean[] cercana = campo.cercana;
+
+        for (int i = desde; i < hasta; i++) {
+            // Movimiento hacia el objetivo: la dirección del campo o, cerca de él, la exacta
+            int celda = campo.celda(x[i], y[i]);
+            float dirX = campoX[celda], dirY = campoY[celda];
+            if (cercana[celda]) {
+                float dx = objetivoX - x[i];
+                float dy = objetivoY - y[i];
+                float distancia = (float)Math.sqrt(dx*dx + dy*dy);
+                if (distancia > 0) {
+                    dirX = dx / distancia;
+                    dirY = dy / distancia;
+                }
+            }
+
+            // Separación de las vecinas más cercanas
+            int cantidad = buscarVecinos(x, y, i, vecinos);
+            for (int k = 0; k < cantidad; k++) {
+                float peso = PESO_SEPARACION * (RADIO_SEPARACION - vecinos.distancia[k]) / RADIO_SEPARACION;
+                dirX += peso * vecinos.alejarX[k];
+                dirY += peso * vecinos.alejarY[k];
+            }
+
+            float largo = (float)Math.sqrt(dirX*dirX + dirY*dirY);
+            if (largo > 0) {
+                xVel[i] = AlmacenEnemigos.VELOCIDAD * dirX / largo;
+                yVel[i] = AlmacenEnemigos.VELOCIDAD * dirY / largo;
+            }
+        }
+    }
+
+    /**
+     * Busca las vecinas de la nave {@code i} cuyos centros están a menos de
+     * {@link #RADIO_SEPARACION} y deja en el buffer las {@link #VECINOS_MAXIMOS}
+     * más cercanas, ordenadas por distancia y, a igual distancia, por el orden
+     * en que las devuelve la grilla.
+     *
+     * @return cantidad de vecinas guardadas en el buffer
+     */
+    private int buscarVecinos(float[] x, float[] y, int i, Vecinos vecinos) {
+        int[] candidatos = vecinos.candidatos;
+        float[] distancia = vecinos.distancia, alejarX = vecinos.alejarX, alejarY = vecinos.alejarY;
+        float xi = x[i], yi = y[i];
+        int encontrados = vecindario.consultar(xi + AlmacenEnemigos.TAMANO / 2, yi + AlmacenEnemigos.TAMANO / 2, candidatos);
+
+        int cantidad = 0;
+        for (int k = 0; k < encontrados; k++) {
+            int j = candidatos[k];
+            if (j == i) continue;
+            float dx = xi - x[j];
+            float dy = yi - y[j];
+            float d = (float)Math.sqrt(dx*dx + dy*dy);
+            if (d >= RADIO_SEPARACION) continue;
+            if (cantidad == VECINOS_MAXIMOS && d >= distancia[cantidad - 1]) continue;
+
+            // Inserción ordenada; si el buffer está lleno se descarta la más lejana
+            int pos = cantidad < VECINOS_MAXIMOS ? cantidad++ : cantidad - 1;
+            while (pos > 0 && distancia[pos - 1] > d) {
+                distancia[pos] = distancia[pos - 1];
+                alejarX[pos] = alejarX[pos - 1];
+                alejarY[pos] = alejarY[pos - 1];
+                pos--;
+            }
+            distancia[pos] = d;
+            if (d > 0) {
+                alejarX[pos] = dx / d;
+                alejarY[pos] = dy / d;
+            } else {
+                // Naves encimadas: se separan en horizontal según su índice
+                alejarX[pos] = i < j ? -1 : 1;
+                alejarY[pos] = 0;
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Mueve las naves del rango {@code [desde, hasta)} según su velocidad y
+     * descuenta su tiempo de herida. Solo escribe en esas posiciones de los
+     * arreglos, por lo que rangos disjuntos pueden actualizarse a la vez.
+     */
+    private static void moverEnemigos(AlmacenEnemigos enemigos, boolean persigue, int desde, int hasta) {
+        float[] x = enemigos.x, y = enemigos.y;
+        float[] xVel = enemigos.xVel, yVel = enemigos.yVel;
+        float[] anteriorX = enemigos.anteriorX, anteriorY = enemigos.anteriorY;
+        int[] tiempoHerido = enemigos.tiempoHerido, banderas = enemigos.banderas;
+
+        for (int i = desde; i < hasta; i++) {
+            anteriorX[i] = x[i];
+            anteriorY[i] = y[i];
+
+            if ((banderas[i] & AlmacenEnemigos.HERIDA) != 0) {
+                tiempoHerido[i]--;
+                if (tiempoHerido[i] <= 0) {
+                    banderas[i] &= ~AlmacenEnemigos.HERIDA;
+                }
+            }
+            if (persigue && (xVel[i] != 0 || yVel[i] != 0)) {
+                x[i] += xVel[i];
+                y[i] += yVel[i];
+            }
+        }
+    }
+
+    /**
+     * Buffers de un tramo de naves: los candidatos de la consulta en curso y
+     * las vecinas más cercanas con su distancia y la dirección que aleja de ellas.
+     */
+    private static final class Vecinos {
+        final int[] candidatos = new int[GrillaVecinos.MAXIMO_CONSULTA];
+        final float[] distancia = new float[VECINOS_MAXIMOS];
+        final float[] alejarX = new float[VECINOS_MAXIMOS];
+        final float[] alejarY = new float[VECINOS_MAXIMOS];
+    }
+
+    /**
+     * Tarea que divide un rango de tramos por la mitad hasta llegar a uno solo
+     * y lo dirige o lo mueve según la fase.
+     */
+    private class TareaEnemigos extends RecursiveAction {
+        private final boolean mover;
+        private final AlmacenEnemigos enemigos;
+        private final boolean persigue;
+        private final float objetivoX;
+        private final float objetivoY;
+        private final int cantidad;
+        private final int desde;
+        private final int hasta;
+
+        TareaEnemigos(boolean mover, AlmacenEnemigos enemigos, boolean persigue,
+                float objetivoX, float objetivoY, int cantidad, int desde, int hasta) {
+            this.mover = mover;
+            this.enemigos = enemigos;
+            this.persigue = persigue;
+            this.objetivoX = objetivoX;
+            this.objetivoY = objetivoY;
+            this.cantidad = cantidad;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde == 1) {
+                int inicio = desde * NAVES_POR_TAREA;
+                int fin = Math.min(cantidad, inicio + NAVES_POR_TAREA);
+                if (mover) {
+                    moverEnemigos(enemigos, persigue, inicio, fin);
+                } else {
+                    dirigirEnemigos(enemigos, objetivoX, objetivoY, inicio, fin, tramos.get(desde));
+                }
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new TareaEnemigos(mover, enemigos, persigue, objetivoX, objetivoY, cantidad, desde, medio),
+                    new TareaEnemigos(mover, enemigos, persigue, objetivoX, objetivoY, cantidad, medio, hasta));
+        }
+    }
+
+    /**
+     * Mueve todas las balas según su velocidad y marca como destruidas
+     * las que salen del mundo.
+     *
+     * @param balas balas a actualizar
+     */
+    public void actualizarBalas(AlmacenBalas balas) {
+        float[] x = balas.x, y = balas.y;
+        float[] xVel = balas.xVel, yVel = balas.yVel;
+        float[] anteriorX = balas.anteriorX, anteriorY = balas.anteriorY;
+        int[] destruida = balas.destruida;
+
+        for (int i = 0, n = balas.tamano(); i < n; i++) {
+            anteriorX[i] = x[i];
+            anteriorY[i] = y[i];
+            x[i] += xVel[i];
+            y[i] += yVel[i];
+            if (x[i] < 0 || x[i] + AlmacenBalas.TAMANO > PantallaJuego.WORLD_WIDTH ||
+                    y[i] < 0 || y[i] + AlmacenBalas.TAMANO > PantallaJuego.WORLD_HEIGHT) {
+                destruida[i] = 1;
+            }
+        }
+    }
+
+    /**
+     * Obtiene el campo de flujo que siguen las naves enemigas.
+     * @return CampoFlujo del sistema
+     */
+    public CampoFlujo getCampo() {
+        return campo;
+    }
+
+    /**
+     * Indica si se reparte la actualización de muchas naves entre hilos.
+     * @return true si el camino paralelo está habilitado
+     */
+    public boolean isParalelo() {
+        return paralelo;
+    }
+
+    /**
+     * Habilita o deshabilita el camino paralelo. Con menos de
+     * {@link #UMBRAL_PARALELO} naves la actualización es siempre secuencial.
+     * @param paralelo true para repartir entre hilos, false para el camino secuencial
+     */
+    public void setParalelo(boolean paralelo) {
+        this.paralelo = paralelo;
+    }
+}
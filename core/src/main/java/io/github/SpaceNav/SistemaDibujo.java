@@ -0,0 +1,59 @@
+package io.github.SpaceNav;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Sistema que dibuja las naves enemigas y las balas recorriendo los arreglos
+ * de {@link AlmacenEnemigos} y {@link AlmacenBalas}, interpolando entre la
+ * posición del tick anterior y la actual.
+ */
+public class SistemaDibujo {
+
+    /**
+     * Dibuja las naves enemigas que no están destruidas. Las naves heridas
+     * "tiemblan" horizontalmente.
+     *
+     * @param batch SpriteBatch usado para el renderizado
+     * @param enemigos naves a dibujar
+     * @param region región del atlas con la imagen de la nave
+     * @param alfa fracción de tick transcurrida desde la última actualización (0 a 1)
+     */
+    public void dibujarEnemigos(SpriteBatch batch, AlmacenEnemigos enemigos, TextureRegion region, float alfa) {
+        float[] x = enemigos.x, y = enemigos.y;
+        float[] anteriorX = enemigos.anteriorX, anteriorY = enemigos.anteriorY;
+        int[] banderas = enemigos.banderas;
+
+        for (int i = 0, n = enemigos.tamano(); i < n; i++) {
+            if ((banderas[i] & AlmacenEnemigos.DESTRUIDA) != 0) continue;
+
+            float dibujoX = anteriorX[i] + (x[i] - anteriorX[i]) * alfa;
+            float dibujoY = anteriorY[i] + (y[i] - anteriorY[i]) * alfa;
+            if ((banderas[i] & AlmacenEnemigos.HERIDA) != 0) {
+                dibujoX += MathUtils.random(-2, 2);
+            }
+            batch.draw(region, dibujoX, dibujoY, AlmacenEnemigos.TAMANO, AlmacenEnemigos.TAMANO);
+        }
+    }
+
+    /**
+     * Dibuja todas las balas.
+     *
+     * @param batch SpriteBatch usado para el renderizado
+     * @param balas balas a dibujar
+     * @param region región del atlas que representa la bala
+     * @param alfa fracción de tick transcurrida desde la última actualización (0 a 1)
+     */
+    public void dibujarBalas(SpriteBatch batch, AlmacenBalas balas, TextureRegion region, float alfa) {
+        float[] x = balas.x, y = balas.y;
+        float[] anteriorX = balas.anteriorX, anteriorY = balas.anteriorY;
+
+        for (int i = 0, n = balas.tamano(); i < n; i++) {
+            batch.draw(region,
+                    anteriorX[i] + (x[i] - anteriorX[i]) * alfa,
+                    anteriorY[i] + (y[i] - anteriorY[i]) * alfa,
+                    AlmacenBalas.TAMANO, AlmacenBalas.TAMANO);
+        }
+    }
+}
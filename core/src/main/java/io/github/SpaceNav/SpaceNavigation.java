@@ -1,18 +1,33 @@
 package io.github.SpaceNav;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
 
 /**
  * Clase principal del juego.
  * Extiende {@link Game} de LibGDX y se encarga de:
  * - Inicializar recursos gráficos y fuentes
- * - Mantener el puntaje más alto (high score)
- * - Establecer la pantalla inicial del juego (menú)
+ * - Mantener la tabla de mejores puntajes, guardada entre ejecuciones
+ * - Leer una sola vez la tabla de oleadas de enemigos de todas las rondas
+ * - Reproducir la música de fondo, que pasa de una pantalla a otra sin cortes
+ * - Cargar los recursos en segundo plano y mostrar el menú en cuanto esté listo
  */
 public class SpaceNavigation extends Game {
+
+	/** Carpeta, dentro del directorio del usuario, donde se guardan puntajes, repeticiones y perfiles */
+	public static final String CARPETA_DATOS = ".spacenav";
+
+	/** Archivo, dentro de {@link #CARPETA_DATOS}, con la tabla de mejores puntajes */
+	public static final String ARCHIVO_PUNTAJES = "puntajes.dat";
 	
 	/** Nombre del juego */
 	private String nombreJuego = "Space Navigation";
@@ -22,38 +37,160 @@ public class SpaceNavigation extends Game {
 	
 	/** Fuente utilizada para mostrar texto */
 	private BitmapFont font;
+
+	/** Recursos compartidos por todas las pantallas */
+	private GestorRecursos recursos;
+
+	/** Música de fondo de todas las pantallas */
+	private ServicioMusica musica;
+
+	/** Momento en que empezó la aplicación, en milisegundos */
+	private long inicio;
+
+	/** Milisegundos hasta el primer frame interactivo del menú, o -1 si aún no se dibujó */
+	private long msPrimerFrameInteractivo = -1;
+
+	/** Indica si ya terminó la precarga de recursos */
+	private boolean cargaTerminada;
 	
-	/** Puntaje más alto registrado durante la ejecución */
-	private int highScore;	
+	/** Escribe los archivos del juego sin detener el dibujo */
+	private EscritorArchivos escritor;
+
+	/** Mejores puntajes de todas las ejecuciones */
+	private TablaPuntajes puntajes;
+
+	/** Oleadas de enemigos de todas las rondas, leídas al iniciar */
+	private TablaOleadas oleadas = TablaOleadas.CLASICA;
+
+	/** Mide los tiempos de cada frame de juego; se conserva entre rondas */
+	private Perfilador perfilador = new Perfilador();
+
+	/** Indica si el HUD muestra el perfilador (se alterna con F3) */
+	private boolean mostrarPerfil;
 
 	/**
      * Inicializa los recursos del juego y establece la pantalla inicial.
      * Se ejecuta al iniciar la aplicación.
      */
 	public void create() {
-		highScore = 0;
+		inicio = TimeUtils.millis();
+		escritor = new EscritorArchivos();
+		puntajes = new TablaPuntajes(archivoDatos(ARCHIVO_PUNTAJES), escritor);
+		try {
+			puntajes.cargar();
+		} catch (IOException e) {
+			Gdx.app.error("SpaceNavigation", "No se pudo leer la tabla de puntajes; se empieza vacía", e);
+		}
+		try (Reader lector = Gdx.files.internal(GestorRecursos.OLEADAS).reader("UTF-8")) {
+			oleadas = TablaOleadas.leer(lector);
+		} catch (IOException | GdxRuntimeException e) {
+			Gdx.app.error("SpaceNavigation", "No se pudo leer la tabla de oleadas; se usa la clásica", e);
+		}
 		batch = new SpriteBatch();
+		recursos = new GestorRecursos();
+		recursos.precargarTodo();
+		musica = new ServicioMusica(recursos);
 		font = new BitmapFont(); // usa Arial font x defecto
 		font.getData().setScale(2f);
-		Screen ss = new PantallaMenu(this);
+		// Solo se espera por los recursos del menú; los del juego siguen cargando mientras tanto
+		Screen ss = new PantallaCarga(this, GestorRecursos.RECURSOS_MENU, () -> new PantallaMenu(this));
 		this.setScreen(ss);
 	}
 
 	/**
      * Renderiza la pantalla actual.
-     * Llama a {@link Game#render()} para actualizar la lógica y dibujado de la pantalla activa.
+     * Avanza la carga de recursos en segundo plano y los fundidos de la música, y llama a {@link Game#render()}
+     * para actualizar la lógica y dibujado de la pantalla activa.
      */
 	public void render() {
+		if (recursos.actualizar() && !cargaTerminada) {
+			cargaTerminada = true;
+			Gdx.app.log("SpaceNavigation", "Recursos cargados en " + TimeUtils.timeSinceMillis(inicio) + " ms");
+		}
+		musica.actualizar(Gdx.graphics.getDeltaTime());
 		super.render(); // important!
 	}
 
 	/**
-     * Libera los recursos utilizados por el juego (batch y fuente).
+     * Pausa la música y la pantalla activa, por ejemplo al minimizar la ventana.
+     */
+	@Override
+	public void pause() {
+		musica.pausar();
+		super.pause();
+	}
+
+	/**
+     * Reanuda la pantalla activa y la música.
+     */
+	@Override
+	public void resume() {
+		super.resume();
+		musica.reanudar();
+	}
+
+	/**
+     * Registra que se dibujó el primer frame en el que el jugador puede interactuar
+     * y lo informa en el log. Las llamadas posteriores no hacen nada.
+     */
+	public void registrarPrimerFrameInteractivo() {
+		if (msPrimerFrameInteractivo >= 0) return;
+		msPrimerFrameInteractivo = TimeUtils.timeSinceMillis(inicio);
+		Gdx.app.log("SpaceNavigation", "Primer frame interactivo a los " + msPrimerFrameInteractivo + " ms");
+	}
+
+	/**
+     * Obtiene el tiempo hasta el primer frame interactivo.
+     * @return milisegundos desde el inicio, o -1 si todavía no se dibujó
+     */
+	public long getMsPrimerFrameInteractivo() {
+		return msPrimerFrameInteractivo;
+	}
+
+	/**
+     * Libera los recursos utilizados por el juego (batch, fuente y recursos compartidos)
+     * y espera a que terminen de escribirse los archivos pendientes.
      * Se ejecuta al cerrar la aplicación.
      */
 	public void dispose() {
 		batch.dispose();
 		font.dispose();
+		musica.dispose();
+		recursos.dispose();
+		escritor.dispose();
+	}
+
+	/**
+     * Obtiene un archivo dentro de {@link #CARPETA_DATOS}. La carpeta se crea al escribir.
+     * @param nombre nombre del archivo
+     * @return archivo en la carpeta de datos del usuario
+     */
+	public File archivoDatos(String nombre) {
+		return Gdx.files.external(CARPETA_DATOS + "/" + nombre).file();
+	}
+
+	/**
+     * Obtiene el escritor de archivos en segundo plano.
+     * @return EscritorArchivos del juego
+     */
+	public EscritorArchivos getEscritor() {
+		return escritor;
+	}
+
+	/**
+     * Obtiene la tabla de mejores puntajes.
+     * @return TablaPuntajes del juego
+     */
+	public TablaPuntajes getPuntajes() {
+		return puntajes;
+	}
+
+	/**
+     * Obtiene las oleadas de enemigos de todas las rondas.
+     * @return TablaOleadas leída al iniciar, o la clásica si no se pudo leer
+     */
+	public TablaOleadas getOleadas() {
+		return oleadas;
 	}
 
 	/**
@@ -72,19 +209,51 @@ public class SpaceNavigation extends Game {
 		return font;
 	}
 
+	/**
+     * Obtiene el registro de recursos compartidos.
+     * @return GestorRecursos del juego
+     */
+	public GestorRecursos getRecursos() {
+		return recursos;
+	}
+
+	/**
+     * Obtiene el servicio que reproduce la música de fondo.
+     * @return ServicioMusica del juego
+     */
+	public ServicioMusica getMusica() {
+		return musica;
+	}
+
 	/**
      * Obtiene el puntaje más alto registrado.
      * @return Valor del high score
      */
 	public int getHighScore() {
-		return highScore;
+		return puntajes.getMejorPuntaje();
+	}
+
+	/**
+     * Obtiene el perfilador compartido por todas las rondas.
+     * @return Perfilador del juego
+     */
+	public Perfilador getPerfilador() {
+		return perfilador;
+	}
+
+	/**
+     * Indica si el HUD debe mostrar los datos del perfilador.
+     * @return true si el perfilador está visible
+     */
+	public boolean isMostrarPerfil() {
+		return mostrarPerfil;
 	}
 
 	/**
-     * Establece un nuevo puntaje más alto.
-     * @param highScore Nuevo valor de high score
+     * Muestra u oculta los datos del perfilador en el HUD.
+     * @param mostrarPerfil true para mostrarlos
      */
-	public void setHighScore(int highScore) {
-		this.highScore = highScore;
+	public void setMostrarPerfil(boolean mostrarPerfil) {
+		this.mostrarPerfil = mostrarPerfil;
 	}
-}
\ No newline at end of file
+}
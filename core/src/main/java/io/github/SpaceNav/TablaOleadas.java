@@ -0,0 +1,407 @@
+package io.github.SpaceNav;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * Definición de las oleadas de enemigos de cada ronda, leída una sola vez de
+ * un archivo de texto ({@link GestorRecursos#OLEADAS}) al iniciar el juego.
+ * <p>
+ * El archivo tiene una instrucción por línea; {@code #} empieza un comentario:
+ * <pre>
+ * tipo &lt;nombre&gt; &lt;vidas&gt;
+ * ronda &lt;n&gt;
+ * oleada &lt;inicio&gt; &lt;tipo&gt; &lt;cantidad&gt; &lt;ráfaga&gt; &lt;intervalo&gt; [curva] [patrón]
+ * </pre>
+ * {@code tipo} define un tipo de enemigo por la cantidad de vidas con que
+ * aparece. {@code ronda} abre un bloque que rige desde esa ronda hasta el
+ * bloque siguiente; el primero debe ser la ronda 1 y el último se repite en
+ * todas las rondas posteriores. Cada {@code oleada} del bloque aparece en
+ * ráfagas de hasta {@code ráfaga} enemigos a partir de {@code inicio}
+ * segundos de empezada la ronda, con {@code intervalo} segundos en promedio
+ * entre ráfagas. La {@code cantidad} es un número, {@code n} (los enemigos de
+ * la ronda según {@link GestorRondas}) y opcionalmente {@code +k}, que suma
+ * {@code k} enemigos por cada ronda transcurrida desde la del bloque.
+ * </p>
+ * <p>
+ * La {@link Curva} reparte las ráfagas en el tiempo y el {@link Patron}
+ * ubica a los enemigos de cada ráfaga. Por omisión son {@code constante} y
+ * {@code azar}, que juntas reproducen la aparición de un enemigo por vez en
+ * el borde derecho.
+ * </p>
+ * <p>
+ * Una vez leída la tabla no cambia; {@link ProgramadorOleadas} la consulta al
+ * comenzar cada ronda. Como decide cuándo aparece cada enemigo, una
+ * {@link Repeticion} y una {@link Instantanea} guardan el texto de la tabla
+ * con que se jugó, y se reproducen con esa tabla aunque el archivo cambie.
+ * </p>
+ */
+public class TablaOleadas {
+
+    /** Distribución de las ráfagas de una oleada a lo largo de su duración. */
+    public enum Curva {
+        /** Ráfagas a intervalos iguales. */
+        CONSTANTE,
+        /** Las ráfagas empiezan espaciadas y se van juntando hacia el final. */
+        ACELERA,
+        /** Las ráfagas empiezan juntas y se van espaciando. */
+        FRENA;
+
+        /**
+         * Convierte el avance de una oleada, medido en ráfagas, en avance en
+         * el tiempo. Las tres curvas duran lo mismo.
+         *
+         * @param avance fracción de las ráfagas ya emitidas, entre 0 y 1
+         * @return fracción de la duración de la oleada, entre 0 y 1
+         */
+        double tiempo(double avance) {
+            switch (this) {
+                case ACELERA:
+                    return avance * (2 - avance);
+                case FRENA:
+                    return avance * avance;
+                default:
+                    return avance;
+            }
+        }
+    }
+
+    /** Ubicación de los enemigos de una ráfaga. */
+    public enum Patron {
+        /** Cada enemigo en un lugar al azar cerca del borde derecho. */
+        AZAR,
+        /** Una columna a lo alto del borde derecho, con los enemigos equidistantes. */
+        COLUMNA,
+        /** Una formación en punta de flecha hacia el jugador, a una altura al azar. */
+        FLECHA
+    }
+
+    /** Tamaño máximo del texto de una tabla guardada con una partida, en bytes. */
+    static final int MAXIMO_BYTES_TEXTO = 1 << 20;
+
+    /** Tabla con una sola oleada de un enemigo por segundo, con tantos enemigos como tenga la ronda. */
+    public static final TablaOleadas CLASICA;
+
+    static {
+        try {
+            CLASICA = leer(new StringReader("tipo comun 1\nronda 1\noleada 1 comun n 1 1\n"));
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // no ocurre al leer de memoria
+        }
+    }
+
+    // Bloques: ronda desde la que rigen y rango de sus oleadas en los arreglos de oleadas
+    private int[] bloqueRonda = new int[4];
+    private int[] bloqueDesde = new int[4];
+    private int bloques;
+
+    // Oleadas de todos los bloques, en orden de aparición en el archivo
+    private int[] inicio = new int[8];
+    private int[] vidas = new int[8];
+    /** Cantidad fija de enemigos, o -1 si la oleada usa los enemigos de la ronda. */
+    private int[] cantidad = new int[8];
+    private int[] cantidadPorRonda = new int[8];
+    private int[] rafaga = new int[8];
+    private float[] intervalo = new float[8];
+    private Curva[] curva = new Curva[8];
+    private Patron[] patron = new Patron[8];
+    private int oleadas;
+
+    /** Texto del que se leyó la tabla, con las líneas separadas por {@code '\n'}. */
+    private String texto;
+
+    /** Hash del texto, para comparar tablas sin comparar todo el texto. */
+    private long huella;
+
+    private TablaOleadas() {
+    }
+
+    /**
+     * Lee una tabla de oleadas.
+     *
+     * @param lector texto de la tabla; no se cierra
+     * @return la tabla leída
+     * @throws IOException si falla la lectura o el texto no es una tabla válida;
+     *         el mensaje indica la línea con el error
+     */
+    public static TablaOleadas leer(Reader lector) throws IOException {
+        TablaOleadas tabla = new TablaOleadas();
+        ObjectIntMap<String> tipos = new ObjectIntMap<>();
+        BufferedReader lineas = new BufferedReader(lector);
+        StringBuilder texto = new StringBuilder();
+        int numero = 0;
+        String linea;
+        while ((linea = lineas.readLine()) != null) {
+            numero++;
+            texto.append(linea).append('\n');
+            int comentario = linea.indexOf('#');
+            if (comentario >= 0) linea = linea.substring(0, comentario);
+            linea = linea.trim();
+            if (linea.isEmpty()) continue;
+
+            String[] campos = linea.split("\\s+");
+            try {
+                switch (campos[0]) {
+                    case "tipo":
+                        contar(campos, 3, 3);
+                        tipos.put(campos[1], positivo(campos[2], "vidas"));
+                        break;
+                    case "ronda":
+                        contar(campos, 2, 2);
+                        tabla.agregarBloque(positivo(campos[1], "ronda"));
+                        break;
+                    case "oleada":
+                        contar(campos, 6, 8);
+                        tabla.agregarOleada(campos, tipos);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("instrucción desconocida: " + campos[0]);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Tabla de oleadas, línea " + numero + ": " + e.getMessage());
+            }
+        }
+        if (tabla.bloques == 0) {
+            throw new IOException("Tabla de oleadas sin rondas");
+        }
+        tabla.texto = texto.toString();
+        // FNV-1a de 64 bits sobre los caracteres del texto
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < tabla.texto.length(); i++) {
+            h = (h ^ tabla.texto.charAt(i)) * 0x100000001B3L;
+        }
+        tabla.huella = h;
+        return tabla;
+    }
+
+    /**
+     * Escribe el texto de la tabla, para guardarla junto con una partida.
+     *
+     * @param datos destino de los bytes; no se cierra
+     * @throws IOException si falla la escritura
+     */
+    void escribirTexto(DataOutputStream datos) throws IOException {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        datos.writeInt(bytes.length);
+        datos.write(bytes);
+    }
+
+    /**
+     * Lee una tabla escrita con {@link #escribirTexto(DataOutputStream)}.
+     *
+     * @param datos origen de los bytes; no se cierra
+     * @return la tabla leída
+     * @throws IOException si falla la lectura o el texto no es una tabla válida
+     */
+    static TablaOleadas leerTexto(DataInputStream datos) throws IOException {
+        int cantidad = datos.readInt();
+        if (cantidad < 0 || cantidad > MAXIMO_BYTES_TEXTO) {
+            throw new IOException("Tabla de oleadas con tamaño inválido: " + cantidad);
+        }
+        byte[] bytes = new byte[cantidad];
+        datos.readFully(bytes);
+        return leer(new StringReader(new String(bytes, StandardCharsets.UTF_8)));
+    }
+
+    private void agregarBloque(int ronda) {
+        if (bloques == 0 && ronda != 1) {
+            throw new IllegalArgumentException("el primer bloque debe ser la ronda 1");
+        }
+        if (bloques > 0 && ronda <= bloqueRonda[bloques - 1]) {
+            throw new IllegalArgumentException("las rondas deben ir en orden creciente");
+        }
+        if (bloques == bloqueRonda.length) {
+            bloqueRonda = Arrays.copyOf(bloqueRonda, bloques * 2);
+            bloqueDesde = Arrays.copyOf(bloqueDesde, bloques * 2);
+        }
+        bloqueRonda[bloques] = ronda;
+        bloqueDesde[bloques] = oleadas;
+        bloques++;
+    }
+
+    private void agregarOleada(String[] campos, ObjectIntMap<String> tipos) {
+        if (bloques == 0) {
+            throw new IllegalArgumentException("oleada fuera de un bloque de ronda");
+        }
+        if (!tipos.containsKey(campos[2])) {
+            throw new IllegalArgumentException("tipo de enemigo no definido: " + campos[2]);
+        }
+        if (oleadas == inicio.length) {
+            int capacidad = oleadas * 2;
+            inicio = Arrays.copyOf(inicio, capacidad);
+            vidas = Arrays.copyOf(vidas, capacidad);
+            cantidad = Arrays.copyOf(cantidad, capacidad);
+            cantidadPorRonda = Arrays.copyOf(cantidadPorRonda, capacidad);
+            rafaga = Arrays.copyOf(rafaga, capacidad);
+            intervalo = Arrays.copyOf(intervalo, capacidad);
+            curva = Arrays.copyOf(curva, capacidad);
+            patron = Arrays.copyOf(patron, capacidad);
+        }
+        int o = oleadas;
+        inicio[o] = Math.round(segundos(campos[1], "inicio") * Simulacion.TICKS_POR_SEGUNDO);
+        vidas[o] = tipos.get(campos[2], 1);
+
+        // Cantidad: "n", "12", "n+5" o "12+5"
+        String texto = campos[3];
+        int mas = texto.indexOf('+');
+        String base = mas >= 0 ? texto.substring(0, mas) : texto;
+        cantidad[o] = base.equals("n") ? -1 : noNegativo(base, "cantidad");
+        cantidadPorRonda[o] = mas >= 0 ? noNegativo(texto.substring(mas + 1), "cantidad") : 0;
+
+        rafaga[o] = positivo(campos[4], "ráfaga");
+        intervalo[o] = segundos(campos[5], "intervalo") * Simulacion.TICKS_POR_SEGUNDO;
+        curva[o] = campos.length > 6 ? valor(Curva.class, campos[6], "curva desconocida") : Curva.CONSTANTE;
+        patron[o] = campos.length > 7 ? valor(Patron.class, campos[7], "patrón desconocido") : Patron.AZAR;
+        oleadas++;
+    }
+
+    private static void contar(String[] campos, int minimo, int maximo) {
+        if (campos.length < minimo || campos.length > maximo) {
+            throw new IllegalArgumentException(campos[0] + " lleva entre " + (minimo - 1)
+                    + " y " + (maximo - 1) + " valores");
+        }
+    }
+
+    private static int positivo(String texto, String nombre) {
+        int valor = noNegativo(texto, nombre);
+        if (valor == 0) throw new IllegalArgumentException(nombre + " debe ser mayor que 0");
+        return valor;
+    }
+
+    private static int noNegativo(String texto, String nombre) {
+        int valor;
+        try {
+            valor = Integer.parseInt(texto);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(nombre + " no es un número entero: " + texto);
+        }
+        if (valor < 0) throw new IllegalArgumentException(nombre + " no puede ser negativo");
+        return valor;
+    }
+
+    private static float segundos(String texto, String nombre) {
+        float valor;
+        try {
+            valor = Float.parseFloat(texto);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(nombre + " no es un número: " + texto);
+        }
+        if (!(valor >= 0) || Float.isInfinite(valor)) {
+            throw new IllegalArgumentException(nombre + " debe ser un número de segundos no negativo");
+        }
+        return valor;
+    }
+
+    private static <E extends Enum<E>> E valor(Class<E> tipo, String texto, String error) {
+        try {
+            return Enum.valueOf(tipo, texto.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(error + ": " + texto);
+        }
+    }
+
+    /**
+     * Busca el bloque que rige en una ronda: el último que empieza en ella o antes.
+     * @param ronda número de ronda, desde 1
+     * @return índice del bloque
+     */
+    int bloque(int ronda) {
+        int b = bloques - 1;
+        while (b > 0 && bloqueRonda[b] > ronda) b--;
+        return b;
+    }
+
+    /** Índice de la primera oleada de un bloque. */
+    int primeraOleada(int bloque) {
+        return bloqueDesde[bloque];
+    }
+
+    /** Índice siguiente a la última oleada de un bloque. */
+    int finOleadas(int bloque) {
+        return bloque + 1 < bloques ? bloqueDesde[bloque + 1] : oleadas;
+    }
+
+    /**
+     * Calcula cuántos enemigos tiene una oleada en una ronda.
+     *
+     * @param oleada índice de la oleada
+     * @param ronda número de ronda
+     * @param cantEnemigos enemigos de la ronda, que reemplazan a {@code n}
+     * @return cantidad de enemigos, cero o más
+     */
+    int cantidad(int oleada, int ronda, int cantEnemigos) {
+        int base = cantidad[oleada] < 0 ? cantEnemigos : cantidad[oleada];
+        int rondaBloque = bloqueRonda[bloque(ronda)];
+        return Math.max(0, base + cantidadPorRonda[oleada] * (ronda - rondaBloque));
+    }
+
+    /** Tick de la ronda en que sale la primera ráfaga de una oleada. */
+    int inicio(int oleada) {
+        return inicio[oleada];
+    }
+
+    /** Vidas con que aparecen los enemigos de una oleada. */
+    int vidas(int oleada) {
+        return vidas[oleada];
+    }
+
+    /** Enemigos por ráfaga de una oleada. */
+    int rafaga(int oleada) {
+        return rafaga[oleada];
+    }
+
+    /** Ticks promedio entre dos ráfagas de una oleada. */
+    float intervalo(int oleada) {
+        return intervalo[oleada];
+    }
+
+    Curva curva(int oleada) {
+        return curva[oleada];
+    }
+
+    Patron patron(int oleada) {
+        return patron[oleada];
+    }
+
+    /**
+     * Obtiene la cantidad de bloques de ronda.
+     * @return bloques de la tabla, al menos uno
+     */
+    public int getCantidadBloques() {
+        return bloques;
+    }
+
+    /**
+     * Obtiene la cantidad de oleadas de todos los bloques.
+     * @return oleadas de la tabla
+     */
+    public int getCantidadOleadas() {
+        return oleadas;
+    }
+
+    /**
+     * Obtiene el texto del que se leyó la tabla.
+     * @return texto de la tabla, con las líneas separadas por {@code '\n'}
+     */
+    public String getTexto() {
+        return texto;
+    }
+
+    /**
+     * Obtiene un hash del texto de la tabla; dos tablas con la misma huella
+     * generan, salvo colisiones del hash, las mismas oleadas.
+     * @return huella de la tabla
+     */
+    public long getHuella() {
+        return huella;
+    }
+}
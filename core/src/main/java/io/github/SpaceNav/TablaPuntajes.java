@@ -0,0 +1,173 @@
+package io.github.SpaceNav;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.zip.CRC32;
+
+/**
+ * Tabla persistente con los {@link #CAPACIDAD} mejores puntajes, cada uno con
+ * la ronda alcanzada y la fecha de la partida. Pertenece a {@link SpaceNavigation}.
+ * <p>
+ * La tabla vive en memoria y se lee de disco una sola vez al iniciar; es un
+ * archivo binario de unos pocos cientos de bytes. Cada puntaje que entra en la
+ * tabla actualiza la memoria en el acto y encola la escritura del archivo
+ * completo en un {@link EscritorArchivos}, así que terminar una partida no
+ * espera al disco.
+ * </p>
+ * <p>
+ * Formato, con los enteros en big endian:
+ * {@code "SNHS" versión:int cantidad:int { puntaje:int ronda:int fecha:long }* crc32:int},
+ * donde el CRC cubre todos los bytes anteriores.
+ * </p>
+ */
+public class TablaPuntajes {
+
+    /** Cantidad de puntajes que se conservan. */
+    public static final int CAPACIDAD = 10;
+
+    /** Primeros bytes del archivo: "SNHS". */
+    private static final int MAGICO = 0x534E4853;
+    private static final int VERSION = 1;
+    /** Bytes de cada registro: puntaje, ronda y fecha. */
+    private static final int BYTES_REGISTRO = 4 + 4 + 8;
+    private static final int BYTES_CABECERA = 4 + 4 + 4;
+
+    private final File archivo;
+    private final EscritorArchivos escritor;
+
+    // Registros ordenados de mayor a menor puntaje; solo los primeros cantidad son válidos
+    private final int[] puntajes = new int[CAPACIDAD];
+    private final int[] rondas = new int[CAPACIDAD];
+    private final long[] fechas = new long[CAPACIDAD];
+    private int cantidad;
+
+    /**
+     * Crea una tabla vacía.
+     *
+     * @param archivo archivo donde se guarda la tabla
+     * @param escritor hilo que escribe la tabla cuando cambia
+     */
+    public TablaPuntajes(File archivo, EscritorArchivos escritor) {
+        this.archivo = archivo;
+        this.escritor = escritor;
+    }
+
+    /**
+     * Lee la tabla del archivo. Si el archivo no existe la tabla queda vacía.
+     *
+     * @throws IOException si el archivo existe pero no se puede leer o está dañado;
+     *                     en ese caso la tabla queda vacía
+     */
+    public void cargar() throws IOException {
+        cantidad = 0;
+        if (!archivo.exists()) return;
+
+        byte[] bytes = Files.readAllBytes(archivo.toPath());
+        if (bytes.length < BYTES_CABECERA + 4) {
+            throw new IOException("Tabla de puntajes incompleta: " + archivo);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        ByteBuffer datos = ByteBuffer.wrap(bytes);
+        if (datos.getInt(bytes.length - 4) != (int)crc.getValue()) {
+            throw new IOException("Tabla de puntajes dañada: " + archivo);
+        }
+        if (datos.getInt() != MAGICO || datos.getInt() != VERSION) {
+            throw new IOException("Formato de tabla de puntajes desconocido: " + archivo);
+        }
+        int leidos = datos.getInt();
+        if (leidos < 0 || leidos > CAPACIDAD || bytes.length != BYTES_CABECERA + leidos * BYTES_REGISTRO + 4) {
+            throw new IOException("Tabla de puntajes con tamaño inválido: " + archivo);
+        }
+        for (int i = 0; i < leidos; i++) {
+            puntajes[i] = datos.getInt();
+            rondas[i] = datos.getInt();
+            fechas[i] = datos.getLong();
+        }
+        cantidad = leidos;
+    }
+
+    /**
+     * Registra el resultado de una partida. Si entra en la tabla, la tabla se
+     * actualiza en memoria y su escritura queda encolada.
+     *
+     * @param puntaje puntaje final
+     * @param ronda ronda alcanzada
+     * @param fecha momento de la partida, en milisegundos desde 1970
+     * @return posición en la tabla (0 es la mejor), o -1 si no entró
+     */
+    public int registrar(int puntaje, int ronda, long fecha) {
+        // Ante un empate, el puntaje más antiguo queda primero
+        int posicion = cantidad;
+        while (posicion > 0 && puntajes[posicion - 1] < puntaje) {
+            posicion--;
+        }
+        if (posicion >= CAPACIDAD) return -1;
+
+        int ultimo = Math.min(cantidad, CAPACIDAD - 1);
+        System.arraycopy(puntajes, posicion, puntajes, posicion + 1, ultimo - posicion);
+        System.arraycopy(rondas, posicion, rondas, posicion + 1, ultimo - posicion);
+        System.arraycopy(fechas, posicion, fechas, posicion + 1, ultimo - posicion);
+        puntajes[posicion] = puntaje;
+        rondas[posicion] = ronda;
+        fechas[posicion] = fecha;
+        cantidad = ultimo + 1;
+
+        escritor.escribir(archivo, serializar());
+        return posicion;
+    }
+
+    /** Copia la tabla actual a bytes; el escritor recibe esta copia y no comparte estado. */
+    private byte[] serializar() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(BYTES_CABECERA + cantidad * BYTES_REGISTRO + 4);
+        try {
+            DataOutputStream datos = new DataOutputStream(bytes);
+            datos.writeInt(MAGICO);
+            datos.writeInt(VERSION);
+            datos.writeInt(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                datos.writeInt(puntajes[i]);
+                datos.writeInt(rondas[i]);
+                datos.writeLong(fechas[i]);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            datos.writeInt((int)crc.getValue());
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // no ocurre al escribir en memoria
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Obtiene el mejor puntaje registrado.
+     * @return el primer puntaje de la tabla, o 0 si está vacía
+     */
+    public int getMejorPuntaje() {
+        return cantidad == 0 ? 0 : puntajes[0];
+    }
+
+    /**
+     * Obtiene la cantidad de puntajes registrados.
+     * @return entre 0 y {@link #CAPACIDAD}
+     */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public int getPuntaje(int i) {
+        return puntajes[i];
+    }
+
+    public int getRonda(int i) {
+        return rondas[i];
+    }
+
+    public long getFecha(int i) {
+        return fechas[i];
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.SpaceNav.headless;
+
+import java.util.Random;
+
+import io.github.SpaceNav.AlmacenEnemigos;
+import io.github.SpaceNav.FuenteEntrada;
+import io.github.SpaceNav.NaveJugador;
+import io.github.SpaceNav.Simulacion;
+
+/**
+ * {@link FuenteEntrada} que juega sola según una política fija,
+ * para ejecutar la simulación sin teclado.
+ */
+public class BotEntrada implements FuenteEntrada {
+
+    /** Políticas de juego disponibles. */
+    public enum Politica {
+        /** No presiona ninguna tecla. */
+        QUIETO,
+        /** Presiona teclas al azar. */
+        ALEATORIO,
+        /** Se alinea con el enemigo más cercano y dispara periódicamente. */
+        TIRADOR
+    }
+
+    /** Ticks entre cada disparo del bot tirador. */
+    private static final int TICKS_ENTRE_DISPAROS = 10;
+
+    private final Politica politica;
+    private final Random random;
+
+    /**
+     * Crea un bot con la política indicada.
+     * @param politica forma de jugar del bot
+     * @param semilla semilla de las decisiones aleatorias
+     */
+    public BotEntrada(Politica politica, long semilla) {
+        this.politica = politica;
+        this.random = new Random(semilla);
+    }
+
+    @Override
+    public int leerTeclas(Simulacion sim) {
+        switch (politica) {
+            case ALEATORIO:
+                return random.nextInt(DISPARO * 2);
+            case TIRADOR:
+                return apuntar(sim);
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Mueve la nave verticalmente hacia el enemigo más cercano y dispara
+     * cada {@link #TICKS_ENTRE_DISPAROS} ticks.
+     */
+    private int apuntar(Simulacion sim) {
+        int teclas = 0;
+        if (sim.getTicks() % TICKS_ENTRE_DISPAROS == 0) teclas |= DISPARO;
+
+        NaveJugador nave = sim.getNave();
+        AlmacenEnemigos enemigos = sim.getEnemigos();
+        int objetivo = -1;
+        float mejorDistancia = Float.MAX_VALUE;
+        for (int i = 0; i < enemigos.tamano(); i++) {
+            float distancia = enemigos.getX(i) - nave.getX();
+            if (!enemigos.estaDestruida(i) && distancia < mejorDistancia) {
+                mejorDistancia = distancia;
+                objetivo = i;
+            }
+        }
+        if (objetivo < 0) return teclas;
+
+        // La velocidad se acumula con cada pulsación: solo se corrige cuando va en sentido contrario
+        float dy = enemigos.getY(objetivo) - nave.getY();
+        if (dy > NaveJugador.TAMANO / 4 && nave.getYVel() <= 0) teclas |= ARRIBA;
+        else if (dy < -NaveJugador.TAMANO / 4 && nave.getYVel() >= 0) teclas |= ABAJO;
+        return teclas;
+    }
+}
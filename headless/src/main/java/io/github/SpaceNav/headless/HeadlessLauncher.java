@@ -0,0 +1,357 @@
+package io.github.SpaceNav.headless;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import io.github.SpaceNav.FaseAmplia;
+import io.github.SpaceNav.FuenteEntrada;
+import io.github.SpaceNav.GrabadorEntrada;
+import io.github.SpaceNav.Instantanea;
+import io.github.SpaceNav.OyenteSimulacion;
+import io.github.SpaceNav.Perfilador;
+import io.github.SpaceNav.Repeticion;
+import io.github.SpaceNav.ReproductorEntrada;
+import io.github.SpaceNav.Simulacion;
+import io.github.SpaceNav.TablaOleadas;
+
+/**
+ * Ejecuta la {@link Simulacion} del juego sin ventana, GPU ni audio.
+ * <p>
+ * Avanza tantos ticks como se pidan, tan rápido como sea posible, con la nave
+ * controlada por un {@link BotEntrada}. Al terminar cada ronda comienza la
+ * siguiente y, si el jugador pierde, empieza una partida nueva. Sirve para
+ * pruebas de carga y perfilado de la lógica en máquinas sin pantalla.
+ * Con la misma semilla, dos ejecuciones simulan exactamente lo mismo.
+ * </p>
+ * <p>
+ * También reproduce una {@link Repeticion} grabada por el juego o por este
+ * mismo lanzador y verifica que llegue al mismo estado ronda a ronda.
+ * </p>
+ * <p>
+ * Argumentos:
+ * <ul>
+ * <li>{@code --ticks N}: ticks a simular (por defecto 100000).</li>
+ * <li>{@code --bot quieto|aleatorio|tirador}: política del jugador (por defecto tirador).</li>
+ * <li>{@code --semilla N}: semilla del bot y de las partidas simuladas.</li>
+ * <li>{@code --enemigos N}: enemigos de la primera ronda (por defecto 10).</li>
+ * <li>{@code --oleadas ARCHIVO}: tabla de oleadas de enemigos, como {@code assets/oleadas.txt}
+ * (por defecto {@link TablaOleadas#CLASICA}, un enemigo por segundo). Una repetición se
+ * verifica con la tabla guardada en ella; si además se indica esta opción, la tabla
+ * tiene que ser la misma.</li>
+ * <li>{@code --fase-amplia grilla|barrido|arbol}: fase amplia de colisiones (por defecto grilla).
+ * Todas simulan lo mismo; comparar los ticks por segundo indica cuál rinde mejor.</li>
+ * <li>{@code --fuerza-bruta}: usa la comparación exhaustiva de colisiones en lugar de la fase amplia.</li>
+ * <li>{@code --secuencial}: no reparte entre hilos la actualización de enemigos ni la detección de colisiones.</li>
+ * <li>{@code --perfil ARCHIVO}: mide cada tick con un {@link Perfilador} y guarda los últimos
+ * en ARCHIVO, en JSON si termina en {@code .json} y en CSV en otro caso.</li>
+ * <li>{@code --grabar ARCHIVO}: graba la primera partida del bot en ARCHIVO; la ejecución
+ * termina cuando esa partida se pierde o se alcanzan los ticks pedidos.</li>
+ * <li>{@code --repeticion ARCHIVO}: en lugar de jugar con el bot, reproduce la repetición a
+ * máxima velocidad y termina con código 1 si no coincide con lo grabado.</li>
+ * <li>{@code --instantaneas N}: cada N ticks captura una {@link Instantanea}, sigue jugando con
+ * la simulación restaurada e informa cuánto tardan ambas operaciones; con la misma semilla los
+ * resultados deben ser los mismos que sin esta opción. Termina con código 1 si una
+ * simulación restaurada no tiene el mismo hash que la original.</li>
+ * </ul>
+ * </p>
+ */
+public class HeadlessLauncher {
+
+    private static final int VIDAS_INICIALES = 3;
+
+    /** Oyente sin sonido. */
+    private static final OyenteSimulacion SILENCIO = new OyenteSimulacion() { };
+
+    // Opciones que se aplican a cada simulación creada
+    private static boolean fuerzaBruta = false;
+    private static FaseAmplia.Tipo faseAmplia = FaseAmplia.Tipo.GRILLA;
+    private static boolean secuencial = false;
+    /** Mide cada tick; sin ventana cada tick cuenta como un frame. */
+    private static Perfilador perfilador = Perfilador.NULO;
+    /** Ticks entre instantáneas, o 0 para no tomarlas. */
+    private static long ticksInstantanea = 0;
+    private static TablaOleadas oleadas = TablaOleadas.CLASICA;
+    /** Indica si la tabla de oleadas se pasó con {@code --oleadas}. */
+    private static boolean oleadasIndicadas = false;
+
+    public static void main(String[] args) {
+        long ticks = 100000;
+        BotEntrada.Politica politica = BotEntrada.Politica.TIRADOR;
+        long semilla = System.nanoTime();
+        int enemigosIniciales = 10;
+        String archivoPerfil = null;
+        String archivoGrabacion = null;
+        String archivoRepeticion = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--ticks":
+                    ticks = Long.parseLong(args[++i]);
+                    break;
+                case "--bot":
+                    politica = BotEntrada.Politica.valueOf(args[++i].toUpperCase());
+                    break;
+                case "--semilla":
+                    semilla = Long.parseLong(args[++i]);
+                    break;
+                case "--enemigos":
+                    enemigosIniciales = Integer.parseInt(args[++i]);
+                    break;
+                case "--fase-amplia":
+                    faseAmplia = FaseAmplia.Tipo.desdeNombre(args[++i]);
+                    break;
+                case "--fuerza-bruta":
+                    fuerzaBruta = true;
+                    break;
+                case "--secuencial":
+                    secuencial = true;
+                    break;
+                case "--perfil":
+                    archivoPerfil = args[++i];
+                    break;
+                case "--grabar":
+                    archivoGrabacion = args[++i];
+                    break;
+                case "--repeticion":
+                    archivoRepeticion = args[++i];
+                    break;
+                case "--instantaneas":
+                    ticksInstantanea = Long.parseLong(args[++i]);
+                    break;
+                case "--oleadas":
+                    oleadas = leerOleadas(args[++i]);
+                    oleadasIndicadas = true;
+                    break;
+                default:
+                    System.err.println("Argumento desconocido: " + args[i]);
+                    System.exit(1);
+            }
+        }
+        if (archivoPerfil != null) {
+            perfilador = new Perfilador();
+        }
+
+        boolean correcto;
+        if (archivoRepeticion != null) {
+            correcto = reproducir(archivoRepeticion);
+        } else {
+            correcto = jugar(ticks, politica, semilla, enemigosIniciales, archivoGrabacion);
+        }
+
+        if (archivoPerfil != null) {
+            System.out.printf("Tick p50: %.3f ms, p99: %.3f ms%n",
+                    perfilador.getMsPercentil(50), perfilador.getMsPercentil(99));
+            guardarPerfil(archivoPerfil);
+        }
+        if (!correcto) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Simula partidas controladas por el bot durante la cantidad de ticks indicada
+     * e informa el rendimiento y los resultados.
+     *
+     * @param archivoGrabacion archivo donde grabar la primera partida, o null para no grabar
+     * @return false si alguna instantánea no restauró el mismo estado
+     */
+    private static boolean jugar(long ticks, BotEntrada.Politica politica, long semilla,
+            int enemigosIniciales, String archivoGrabacion) {
+        BotEntrada bot = new BotEntrada(politica, semilla);
+        // Cada partida nueva toma su semilla de esta secuencia
+        Random semillas = new Random(semilla);
+
+        long semillaPartida = semillas.nextLong();
+        FuenteEntrada entrada = bot;
+        Repeticion repeticion = null;
+        if (archivoGrabacion != null) {
+            repeticion = new Repeticion(semillaPartida, 1, VIDAS_INICIALES, 0, enemigosIniciales, oleadas);
+            entrada = new GrabadorEntrada(bot, repeticion);
+        }
+        Simulacion sim = new Simulacion(1, VIDAS_INICIALES, 0, enemigosIniciales, entrada, SILENCIO, semillaPartida);
+        sim.setOleadas(oleadas);
+        configurar(sim);
+        int partidas = 1;
+        int rondaMaxima = 1;
+        int mejorScore = 0;
+
+        Instantanea instantanea = new Instantanea();
+        int instantaneas = 0;
+        long nanosCaptura = 0;
+        long nanosRestauracion = 0;
+        int bytesMaximos = 0;
+        boolean correcto = true;
+
+        long simulados = 0;
+        long inicio = System.nanoTime();
+        while (simulados < ticks) {
+            perfilador.iniciarFrame();
+            sim.paso();
+            perfilador.terminarFrame(sim.getEnemigos().tamano(), sim.getBalas().tamano(), sim.getPowerUps().tamano(), 0);
+            simulados++;
+
+            if (ticksInstantanea > 0 && simulados % ticksInstantanea == 0) {
+                long hash = sim.calcularHash();
+                long t = System.nanoTime();
+                instantanea.capturar(sim);
+                long t2 = System.nanoTime();
+                sim = instantanea.restaurar(entrada, SILENCIO);
+                nanosRestauracion += System.nanoTime() - t2;
+                nanosCaptura += t2 - t;
+                configurar(sim);
+                instantaneas++;
+                bytesMaximos = Math.max(bytesMaximos, instantanea.getBytes());
+                if (sim.calcularHash() != hash) {
+                    System.out.println("La instantánea del tick " + simulados + " no restauró el mismo estado");
+                    correcto = false;
+                    break;
+                }
+            }
+
+            if (sim.isTransicionTerminada()) {
+                if (repeticion != null) repeticion.registrarRonda(sim);
+                sim.siguienteRonda();
+                rondaMaxima = Math.max(rondaMaxima, sim.getRonda());
+            } else if (sim.isJuegoTerminado()) {
+                mejorScore = Math.max(mejorScore, sim.getScore());
+                if (repeticion != null) break; // solo se graba una partida
+                // La partida nueva reutiliza la misma simulación
+                sim.reiniciar(1, VIDAS_INICIALES, 0, enemigosIniciales, semillas.nextLong());
+                partidas++;
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        mejorScore = Math.max(mejorScore, sim.getScore());
+
+        System.out.printf("Ticks simulados: %d en %.3f s (%.0f ticks/s, %.1fx tiempo real)%n",
+                simulados, segundos, simulados / segundos, simulados / segundos / Simulacion.TICKS_POR_SEGUNDO);
+        System.out.printf("Bot: %s, colisiones: %s, hilos: %s%n",
+                politica.name().toLowerCase(), fuerzaBruta ? "fuerza bruta" : faseAmplia.name().toLowerCase(),
+                secuencial ? "secuencial" : "paralelo");
+        System.out.printf("Partidas: %d, ronda máxima: %d, mejor score: %d%n",
+                partidas, rondaMaxima, mejorScore);
+        if (instantaneas > 0) {
+            System.out.printf("Instantáneas: %d, captura media %.1f µs, restauración media %.1f µs, hasta %d bytes%n",
+                    instantaneas, nanosCaptura / 1e3 / instantaneas, nanosRestauracion / 1e3 / instantaneas, bytesMaximos);
+        }
+
+        if (repeticion != null) {
+            repeticion.terminar(sim);
+            try (OutputStream salida = new BufferedOutputStream(new FileOutputStream(archivoGrabacion))) {
+                repeticion.escribir(salida);
+                System.out.println("Repetición guardada en " + archivoGrabacion);
+            } catch (IOException e) {
+                System.err.println("No se pudo guardar la repetición: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+        return correcto;
+    }
+
+    /**
+     * Vuelve a simular una repetición a máxima velocidad y compara el hash del
+     * estado al final de cada ronda y al final de la partida con los grabados.
+     * La partida se simula con la tabla de oleadas guardada en la repetición.
+     *
+     * @param archivo archivo de la repetición
+     * @return true si la reproducción coincide con la grabación
+     */
+    private static boolean reproducir(String archivo) {
+        Repeticion repeticion;
+        try (InputStream entrada = new BufferedInputStream(new FileInputStream(archivo))) {
+            repeticion = Repeticion.leer(entrada);
+        } catch (IOException e) {
+            System.err.println("No se pudo leer la repetición: " + e.getMessage());
+            return false;
+        }
+        if (oleadasIndicadas && oleadas.getHuella() != repeticion.getOleadas().getHuella()) {
+            System.out.println("La repetición NO coincide: se grabó con una tabla de oleadas distinta de la indicada con --oleadas");
+            return false;
+        }
+
+        ReproductorEntrada entrada = new ReproductorEntrada(repeticion);
+        Simulacion sim = repeticion.crearSimulacion(entrada, SILENCIO);
+        configurar(sim);
+        int rondas = 0;
+        String error = null;
+
+        long inicio = System.nanoTime();
+        for (long t = 1; t <= repeticion.getTicks(); t++) {
+            perfilador.iniciarFrame();
+            sim.paso();
+            perfilador.terminarFrame(sim.getEnemigos().tamano(), sim.getBalas().tamano(), sim.getPowerUps().tamano(), 0);
+
+            if (sim.isTransicionTerminada()) {
+                if (rondas >= repeticion.getCantidadRondas() || repeticion.getTickRonda(rondas) != t
+                        || repeticion.getHashRonda(rondas) != sim.calcularHash()) {
+                    error = "la ronda " + sim.getRonda() + " terminó distinto (tick " + t + ")";
+                    break;
+                }
+                rondas++;
+                sim.siguienteRonda();
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        if (error == null && rondas != repeticion.getCantidadRondas()) {
+            error = "se grabaron " + repeticion.getCantidadRondas() + " rondas terminadas y se reprodujeron " + rondas;
+        } else if (error == null && sim.getScore() != repeticion.getScoreFinal()) {
+            error = "score final " + sim.getScore() + ", grabado " + repeticion.getScoreFinal();
+        } else if (error == null && sim.calcularHash() != repeticion.getHashFinal()) {
+            error = "el estado final no coincide";
+        }
+
+        System.out.printf("Ticks reproducidos: %d en %.3f s (%.0f ticks/s)%n",
+                repeticion.getTicks(), segundos, repeticion.getTicks() / segundos);
+        if (error != null) {
+            System.out.println("La repetición NO coincide: " + error);
+            return false;
+        }
+        System.out.printf("Repetición verificada: %d rondas terminadas, score final %d, hash %016x%n",
+                rondas, sim.getScore(), sim.calcularHash());
+        return true;
+    }
+
+    private static TablaOleadas leerOleadas(String archivo) {
+        try (Reader lector = new InputStreamReader(new FileInputStream(archivo), StandardCharsets.UTF_8)) {
+            return TablaOleadas.leer(lector);
+        } catch (IOException e) {
+            System.err.println("No se pudo leer la tabla de oleadas: " + e.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
+
+    private static void guardarPerfil(String archivo) {
+        try (Writer salida = new OutputStreamWriter(new FileOutputStream(archivo), StandardCharsets.UTF_8)) {
+            if (archivo.endsWith(".json")) {
+                perfilador.escribirJson(salida);
+            } else {
+                perfilador.escribirCsv(salida);
+            }
+            System.out.println("Perfil guardado en " + archivo);
+        } catch (IOException e) {
+            System.err.println("No se pudo guardar el perfil: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void configurar(Simulacion sim) {
+        sim.getGestorColisiones().setUsarFaseAmplia(!fuerzaBruta);
+        sim.getGestorColisiones().setFaseAmplia(faseAmplia.crear());
+        sim.getSistemaActualizacion().setParalelo(!secuencial);
+        sim.getGestorColisiones().setParalelo(!secuencial);
+        sim.setPerfilador(perfilador);
+    }
+}